@@ -0,0 +1,153 @@
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Bridge from the benchmarks package to the game classes in the default package.
+// JMH refuses benchmarks in the default package, and named packages can't import from it.
+public final class BenchmarkFixtures {
+    private BenchmarkFixtures() {
+    }
+
+    // Enemies chasing a player around a generated maze
+    static final class Swarm {
+        final Maze maze;
+        final Player player;
+        final FlowField flowField;
+        final Pathfinder pathfinder;
+        final List<Enemy> enemies = new ArrayList<>();
+        EnemySpriteCache sprites; // Rendered on the first draw, so update benchmarks skip it
+
+        Swarm(Maze maze, Player player) {
+            this.maze = maze;
+            this.player = player;
+            this.flowField = new FlowField(maze);
+            this.pathfinder = maze.getPathfinder();
+        }
+    }
+
+    public static Object newMaze(int rows, int cols, int density, long seed) {
+        Maze maze = new Maze(rows, cols);
+        maze.setSeed(seed);
+        maze.setPathDensity(density);
+        return maze;
+    }
+
+    public static Object generatedMaze(int rows, int cols, int density, long seed) {
+        Maze maze = (Maze) newMaze(rows, cols, density, seed);
+        maze.generate();
+        return maze;
+    }
+
+    public static void generate(Object maze) {
+        ((Maze) maze).generate();
+    }
+
+    public static void generateParallel(Object maze) {
+        ((Maze) maze).generateParallel();
+    }
+
+    public static int countWalls(Object maze, int[] xs, int[] ys) {
+        Maze m = (Maze) maze;
+        int walls = 0;
+        for (int i = 0; i < xs.length; i++) {
+            if (m.isWall(xs[i], ys[i])) {
+                walls++;
+            }
+        }
+        return walls;
+    }
+
+    // Random open start/goal pairs, packed as sx, sy, gx, gy
+    public static int[] openCellPairs(Object maze, int count, long seed) {
+        Maze m = (Maze) maze;
+        Random random = new Random(seed);
+        int[] pairs = new int[count * 4];
+        for (int i = 0; i < pairs.length; ) {
+            int x = random.nextInt(m.getCols());
+            int y = random.nextInt(m.getRows());
+            if (!m.isWall(x, y)) {
+                pairs[i++] = x;
+                pairs[i++] = y;
+            }
+        }
+        return pairs;
+    }
+
+    public static Object newPathfinder(Object maze) {
+        return new Pathfinder((Maze) maze);
+    }
+
+    public static Object newHierarchicalPathfinder(Object maze) {
+        return new HierarchicalPathfinder((Maze) maze);
+    }
+
+    // 0 = A*, 1 = jump point search, 2 = HPA*
+    public static int[] findPath(Object pathfinder, int algorithm, int[] pairs, int index) {
+        int i = index * 4;
+        switch (algorithm) {
+            case 0: return ((Pathfinder) pathfinder).findPath(pairs[i], pairs[i + 1], pairs[i + 2], pairs[i + 3]);
+            case 1: return ((Pathfinder) pathfinder).findPathJumpPoints(pairs[i], pairs[i + 1], pairs[i + 2], pairs[i + 3]);
+            default: return ((HierarchicalPathfinder) pathfinder).findPath(pairs[i], pairs[i + 1], pairs[i + 2], pairs[i + 3]);
+        }
+    }
+
+    public static Object newSwarm(Object maze, int count, int personality, long seed) {
+        Maze m = (Maze) maze;
+        Swarm swarm = new Swarm(m, new Player(1, 1));
+        Random random = new Random(seed);
+
+        while (swarm.enemies.size() < count) {
+            int x = random.nextInt(m.getCols());
+            int y = random.nextInt(m.getRows());
+            if (!m.isWall(x, y)) {
+                Color color = new Color(200 + random.nextInt(55), random.nextInt(100), random.nextInt(100));
+                swarm.enemies.add(new Enemy(x, y, 1.0, color, personality, random.nextLong()));
+            }
+        }
+        return swarm;
+    }
+
+    // One simulation tick long enough that every enemy takes a step
+    public static void updateSwarm(Object swarm) {
+        Swarm s = (Swarm) swarm;
+        s.flowField.update(s.player);
+        for (Enemy enemy : s.enemies) {
+            enemy.update(s.player, s.maze, s.flowField, s.pathfinder, 1000);
+        }
+    }
+
+    // The same scenario stored as a structure-of-arrays EnemySwarm
+    public static Object newArraySwarm(Object maze, int count, int personality, long seed) {
+        Swarm source = (Swarm) newSwarm(maze, count, personality, seed);
+        EnemySwarm swarm = new EnemySwarm(source.maze.getRows(), source.maze.getCols(),
+                new Enemy[] {source.enemies.get(0)}, seed);
+        for (Enemy enemy : source.enemies) {
+            swarm.add(enemy.getX(), enemy.getY(), 1.0, 0);
+        }
+        source.enemies.clear();
+        return new Object[] {source, swarm};
+    }
+
+    public static void updateArraySwarm(Object state) {
+        Object[] pair = (Object[]) state;
+        Swarm s = (Swarm) pair[0];
+        s.flowField.update(s.player);
+        ((EnemySwarm) pair[1]).updateAll(s.player, s.maze, s.flowField, 1000);
+    }
+
+    public static void drawMaze(Object maze, Graphics2D g) {
+        ((Maze) maze).draw(g, Color.LIGHT_GRAY);
+    }
+
+    public static void drawSwarm(Object swarm, Graphics2D g) {
+        Swarm s = (Swarm) swarm;
+        if (s.sprites == null) {
+            s.sprites = EnemySpriteCache.prepare(s.enemies, null);
+        }
+        for (int i = 0; i < s.enemies.size(); i++) {
+            Enemy enemy = s.enemies.get(i);
+            s.sprites.drawAt(g, i, enemy.getX() * 30, enemy.getY() * 30, enemy.getAnimationCounter());
+        }
+    }
+}
\ No newline at end of file
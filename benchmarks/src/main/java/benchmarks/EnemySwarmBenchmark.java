@@ -0,0 +1,39 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+// One simulation tick of EnemySwarm.updateAll(), to compare with EnemyUpdateBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EnemySwarmBenchmark {
+    private static final MethodHandle GENERATED_MAZE = Fixtures.find("generatedMaze", Object.class, int.class, int.class, int.class, long.class);
+    private static final MethodHandle NEW_ARRAY_SWARM = Fixtures.find("newArraySwarm", Object.class, Object.class, int.class, int.class, long.class);
+    private static final MethodHandle UPDATE_ARRAY_SWARM = Fixtures.find("updateArraySwarm", void.class, Object.class);
+
+    @Param({"100", "1000", "10000"})
+    public int enemies;
+
+    @Param({"0", "1", "2"}) // 0=chaser, 1=wanderer, 2=ambusher
+    public int personality;
+
+    private Object swarm;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Throwable {
+        Object maze = (Object) GENERATED_MAZE.invokeExact(101, 101, 50, 1000L);
+        swarm = (Object) NEW_ARRAY_SWARM.invokeExact(maze, enemies, personality, 2000L);
+    }
+
+    @Benchmark
+    public Object updateAll() throws Throwable {
+        UPDATE_ARRAY_SWARM.invokeExact(swarm);
+        return swarm;
+    }
+}
@@ -0,0 +1,39 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+// One simulation tick of Enemy.update() for a swarm of a single personality
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EnemyUpdateBenchmark {
+    private static final MethodHandle GENERATED_MAZE = Fixtures.find("generatedMaze", Object.class, int.class, int.class, int.class, long.class);
+    private static final MethodHandle NEW_SWARM = Fixtures.find("newSwarm", Object.class, Object.class, int.class, int.class, long.class);
+    private static final MethodHandle UPDATE_SWARM = Fixtures.find("updateSwarm", void.class, Object.class);
+
+    @Param({"1", "10", "100", "1000"})
+    public int enemies;
+
+    @Param({"0", "1", "2"}) // 0=chaser, 1=wanderer, 2=ambusher
+    public int personality;
+
+    private Object swarm;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Throwable {
+        Object maze = (Object) GENERATED_MAZE.invokeExact(101, 101, 50, 1000L);
+        swarm = (Object) NEW_SWARM.invokeExact(maze, enemies, personality, 2000L);
+    }
+
+    @Benchmark
+    public Object update() throws Throwable {
+        UPDATE_SWARM.invokeExact(swarm);
+        return swarm;
+    }
+}
@@ -0,0 +1,20 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// Looks up BenchmarkFixtures methods; constant method handles are inlined by the JIT
+final class Fixtures {
+    private Fixtures() {
+    }
+
+    static MethodHandle find(String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            Class<?> fixtures = Class.forName("BenchmarkFixtures");
+            return MethodHandles.publicLookup().findStatic(fixtures, name, MethodType.methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing benchmark fixture " + name, e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+// Maze.generate() and generateParallel() across maze sizes and path densities
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MazeGenerateBenchmark {
+    private static final MethodHandle NEW_MAZE = Fixtures.find("newMaze", Object.class, int.class, int.class, int.class, long.class);
+    private static final MethodHandle GENERATE = Fixtures.find("generate", void.class, Object.class);
+    private static final MethodHandle GENERATE_PARALLEL = Fixtures.find("generateParallel", void.class, Object.class);
+
+    @Param({"15", "101", "1001"})
+    public int size;
+
+    @Param({"30", "50", "70"})
+    public int density;
+
+    private Object maze;
+
+    @Setup
+    public void setUp() throws Throwable {
+        maze = (Object) NEW_MAZE.invokeExact(size, size, density, 1000L);
+    }
+
+    @Benchmark
+    public Object generate() throws Throwable {
+        GENERATE.invokeExact(maze);
+        return maze;
+    }
+
+    @Benchmark
+    public Object generateParallel() throws Throwable {
+        GENERATE_PARALLEL.invokeExact(maze);
+        return maze;
+    }
+}
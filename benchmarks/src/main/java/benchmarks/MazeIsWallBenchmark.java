@@ -0,0 +1,43 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Maze.isWall throughput over random cells
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MazeIsWallBenchmark {
+    private static final int LOOKUPS = 4096;
+    private static final MethodHandle GENERATED_MAZE = Fixtures.find("generatedMaze", Object.class, int.class, int.class, int.class, long.class);
+    private static final MethodHandle COUNT_WALLS = Fixtures.find("countWalls", int.class, Object.class, int[].class, int[].class);
+
+    @Param({"15", "101", "1001", "4001"})
+    public int size;
+
+    private Object maze;
+    private final int[] xs = new int[LOOKUPS];
+    private final int[] ys = new int[LOOKUPS];
+
+    @Setup
+    public void setUp() throws Throwable {
+        maze = (Object) GENERATED_MAZE.invokeExact(size, size, 50, 1000L);
+        Random random = new Random(42);
+        for (int i = 0; i < LOOKUPS; i++) {
+            xs[i] = random.nextInt(size);
+            ys[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int isWall() throws Throwable {
+        return (int) COUNT_WALLS.invokeExact(maze, xs, ys);
+    }
+}
@@ -0,0 +1,48 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+// Long-range path queries between random open cells: flat A*, jump point search and HPA*
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class PathfinderBenchmark {
+    private static final MethodHandle GENERATED_MAZE = Fixtures.find("generatedMaze", Object.class, int.class, int.class, int.class, long.class);
+    private static final MethodHandle OPEN_CELL_PAIRS = Fixtures.find("openCellPairs", int[].class, Object.class, int.class, long.class);
+    private static final MethodHandle NEW_PATHFINDER = Fixtures.find("newPathfinder", Object.class, Object.class);
+    private static final MethodHandle NEW_HIERARCHICAL_PATHFINDER = Fixtures.find("newHierarchicalPathfinder", Object.class, Object.class);
+    private static final MethodHandle FIND_PATH = Fixtures.find("findPath", int[].class, Object.class, int.class, int[].class, int.class);
+
+    private static final int QUERIES = 256;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    @Param({"0", "1", "2"}) // 0=A*, 1=jump point search, 2=HPA*
+    public int algorithm;
+
+    private Object pathfinder;
+    private int[] pairs;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        Object maze = (Object) GENERATED_MAZE.invokeExact(size, size, 70, 1000L);
+        pairs = (int[]) OPEN_CELL_PAIRS.invokeExact(maze, QUERIES, 2000L);
+        pathfinder = algorithm == 2
+                ? (Object) NEW_HIERARCHICAL_PATHFINDER.invokeExact(maze)
+                : (Object) NEW_PATHFINDER.invokeExact(maze);
+    }
+
+    @Benchmark
+    public int[] findPath() throws Throwable {
+        next = (next + 1) % QUERIES;
+        return (int[]) FIND_PATH.invokeExact(pathfinder, algorithm, pairs, next);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+// Maze.draw and Enemy.draw into an off-screen image, as one frame of the game would
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RenderBenchmark {
+    private static final MethodHandle GENERATED_MAZE = Fixtures.find("generatedMaze", Object.class, int.class, int.class, int.class, long.class);
+    private static final MethodHandle NEW_SWARM = Fixtures.find("newSwarm", Object.class, Object.class, int.class, int.class, long.class);
+    private static final MethodHandle DRAW_MAZE = Fixtures.find("drawMaze", void.class, Object.class, Graphics2D.class);
+    private static final MethodHandle DRAW_SWARM = Fixtures.find("drawSwarm", void.class, Object.class, Graphics2D.class);
+
+    @Param({"1", "10", "100"})
+    public int enemies;
+
+    private Object maze;
+    private Object swarm;
+    private BufferedImage image;
+    private Graphics2D g;
+
+    @Setup
+    public void setUp() throws Throwable {
+        maze = (Object) GENERATED_MAZE.invokeExact(15, 20, 50, 1000L);
+        swarm = (Object) NEW_SWARM.invokeExact(maze, enemies, 0, 2000L);
+        image = new BufferedImage(20 * 30, 15 * 30, BufferedImage.TYPE_INT_RGB);
+        g = image.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage drawMaze() throws Throwable {
+        DRAW_MAZE.invokeExact(maze, g);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage drawEnemies() throws Throwable {
+        DRAW_SWARM.invokeExact(swarm, g);
+        return image;
+    }
+}
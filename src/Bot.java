@@ -0,0 +1,101 @@
+import java.util.SplittableRandom;
+
+// Scripted player for balancing runs. Walks the shortest route to the exit at a human
+// pace, steps aside when an enemy is next to the cell it wants, and now and then presses
+// the wrong key. Each run gets its own seed, so a level's fixed enemies still see
+// thousands of different games.
+class Bot {
+    public static final int NONE = -1; // No input this tick
+
+    private static final int MIN_MOVE_TICKS = 6;  // 10 moves a second at most
+    private static final int MAX_MOVE_TICKS = 12; // 5 at least
+    private static final int MISTAKE_PERCENT = 5;
+    private static final int[] DX = {-1, 1, 0, 0}; // Indexed by GameWorld.MOVE_* code
+    private static final int[] DY = {0, 0, -1, 1};
+
+    private final SplittableRandom random;
+    private int cooldown;
+    private int[] route;
+    private int routeIndex;
+    private int routeCell = -1; // Cell the player should be on when the next route step is taken
+
+    public Bot(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    // Called once per tick before the world steps
+    public int nextInput(GameWorld world) {
+        if (cooldown > 0) {
+            cooldown--;
+            return NONE;
+        }
+        cooldown = MIN_MOVE_TICKS + random.nextInt(MAX_MOVE_TICKS - MIN_MOVE_TICKS + 1) - 1;
+
+        Maze maze = world.getMaze();
+        int x = world.getPlayer().getX();
+        int y = world.getPlayer().getY();
+        int cell = y * maze.getCols() + x;
+
+        if (random.nextInt(100) < MISTAKE_PERCENT) {
+            return random.nextInt(DX.length);
+        }
+
+        // Replan whenever the player is off the route: after a sidestep, a mistake or a restart
+        if (cell != routeCell || route == null || routeIndex >= route.length) {
+            route = world.getPathfinder().findRoute(x, y, maze.getExitX(), maze.getExitY());
+            routeIndex = 0;
+            if (route == null || route.length == 0) {
+                route = null;
+                routeCell = -1;
+                return random.nextInt(DX.length);
+            }
+        }
+
+        int next = route[routeIndex];
+        int nextX = next % maze.getCols();
+        int nextY = next / maze.getCols();
+        if (danger(world, nextX, nextY) == 0) {
+            routeIndex++;
+            routeCell = next;
+            return directionTo(x, y, nextX, nextY);
+        }
+        return evade(world, x, y);
+    }
+
+    // Safest open neighbour, or NONE if standing still is at least as safe
+    private int evade(GameWorld world, int x, int y) {
+        Maze maze = world.getMaze();
+        int best = NONE;
+        int bestDanger = danger(world, x, y);
+        int offset = random.nextInt(DX.length); // Break ties differently from run to run
+        for (int i = 0; i < DX.length; i++) {
+            int d = (i + offset) % DX.length;
+            int nx = x + DX[d];
+            int ny = y + DY[d];
+            if (maze.isWall(nx, ny)) {
+                continue;
+            }
+            int danger = danger(world, nx, ny);
+            if (danger < bestDanger) {
+                best = d;
+                bestDanger = danger;
+            }
+        }
+        return best;
+    }
+
+    // Enemies on the cell or one step away from it
+    static int danger(GameWorld world, int x, int y) {
+        int count = world.countEnemiesAt(x, y);
+        for (int d = 0; d < DX.length; d++) {
+            count += world.countEnemiesAt(x + DX[d], y + DY[d]);
+        }
+        return count;
+    }
+
+    private static int directionTo(int x, int y, int toX, int toY) {
+        if (toX < x) return GameWorld.MOVE_LEFT;
+        if (toX > x) return GameWorld.MOVE_RIGHT;
+        return toY < y ? GameWorld.MOVE_UP : GameWorld.MOVE_DOWN;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Headless balancing harness: plays every level many times with seeded bots on the
+// fork-join pool and writes one CSV row per level. Runs are independent and their
+// results are plain sums, so the output is the same on any number of cores.
+//
+// java -Djava.awt.headless=true BotRunner [runs per level] [output.csv]
+class BotRunner {
+    private static final int DEFAULT_RUNS = 2000;
+    private static final int RUNS_PER_TASK = 16; // Runs played back to back on one world
+    private static final int CONTACT_BUCKETS = 5; // 0, 1, 2, 3 and 4+ enemy contacts per run
+
+    // Totals for a batch of runs on one level
+    static class LevelStats {
+        int runs;
+        int wins;
+        int caught;       // Lost by touching an enemy; the rest ran out of time
+        long winTicks;
+        long contacts;
+        final int[] contactRuns = new int[CONTACT_BUCKETS];
+
+        void add(LevelStats other) {
+            runs += other.runs;
+            wins += other.wins;
+            caught += other.caught;
+            winTicks += other.winTicks;
+            contacts += other.contacts;
+            for (int i = 0; i < CONTACT_BUCKETS; i++) {
+                contactRuns[i] += other.contactRuns[i];
+            }
+        }
+    }
+
+    private static class RunTask extends RecursiveTask<LevelStats> {
+        private static final long serialVersionUID = 1L;
+
+        private final Level level;
+        private final int fromRun, toRun;
+
+        RunTask(Level level, int fromRun, int toRun) {
+            this.level = level;
+            this.fromRun = fromRun;
+            this.toRun = toRun;
+        }
+
+        @Override
+        protected LevelStats compute() {
+            if (toRun - fromRun > RUNS_PER_TASK) {
+                int middle = (fromRun + toRun) >>> 1;
+                RunTask left = new RunTask(level, fromRun, middle);
+                left.fork();
+                LevelStats stats = new RunTask(level, middle, toRun).compute();
+                stats.add(left.join());
+                return stats;
+            }
+
+            // Already one run per core; parallel enemy updates would only add overhead
+            GameWorld world = new GameWorld(level);
+            world.setParallelUpdates(false);
+            LevelStats stats = new LevelStats();
+            for (int run = fromRun; run < toRun; run++) {
+                if (run > fromRun) {
+                    world.reset();
+                }
+                play(world, new Bot(level.getNumber() * 0x9E3779B97F4A7C15L + run), stats);
+            }
+            return stats;
+        }
+    }
+
+    // One game to the end. A contact is an enemy moving next to the player, or onto it,
+    // after the player was clear.
+    static void play(GameWorld world, Bot bot, LevelStats stats) {
+        int contacts = 0;
+        boolean near = false;
+        while (!world.isFinished()) {
+            int input = bot.nextInput(world);
+            if (input != Bot.NONE) {
+                world.applyInput(input);
+            }
+            world.step();
+
+            Player player = world.getPlayer();
+            boolean nowNear = Bot.danger(world, player.getX(), player.getY()) > 0;
+            if (nowNear && !near) {
+                contacts++;
+            }
+            near = nowNear;
+        }
+
+        stats.runs++;
+        if (world.isLevelComplete()) {
+            stats.wins++;
+            stats.winTicks += world.getTick();
+        } else if (world.countEnemiesAt(world.getPlayer().getX(), world.getPlayer().getY()) > 0) {
+            stats.caught++; // Even in the last second of the countdown
+        }
+        stats.contacts += contacts;
+        stats.contactRuns[Math.min(contacts, CONTACT_BUCKETS - 1)]++;
+    }
+
+    public static List<String> run(List<Level> levels, int runs) {
+        List<RunTask> tasks = new ArrayList<>();
+        for (Level level : levels) {
+            tasks.add(new RunTask(level, 0, runs));
+        }
+        ForkJoinPool.commonPool().invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                invokeAll(tasks);
+                return null;
+            }
+        });
+
+        List<String> lines = new ArrayList<>();
+        lines.add("level,name,enemies,enemy_speed,time_limit,runs,win_rate,caught_rate,timeout_rate,"
+                + "avg_completion_s,avg_contacts,contacts_0,contacts_1,contacts_2,contacts_3,contacts_4_plus");
+        for (int i = 0; i < levels.size(); i++) {
+            Level level = levels.get(i);
+            LevelStats stats = tasks.get(i).join();
+            double n = Math.max(1, stats.runs);
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%d,%s,%d,%.2f,%d,%d,%.4f,%.4f,%.4f,%s,%.3f",
+                    level.getNumber(), level.getName(), level.getEnemyCount(), level.getEnemySpeed(), level.getTimeLimit(),
+                    stats.runs, stats.wins / n, stats.caught / n, (stats.runs - stats.wins - stats.caught) / n,
+                    stats.wins == 0 ? "" : String.format(Locale.ROOT, "%.2f", stats.winTicks / (double) stats.wins / GameWorld.TICK_RATE),
+                    stats.contacts / n));
+            for (int count : stats.contactRuns) {
+                line.append(String.format(Locale.ROOT, ",%.4f", count / n));
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        List<Level> levels = new LevelManager().getAllLevels();
+
+        long start = System.nanoTime();
+        List<String> lines = run(levels, runs);
+        long elapsed = System.nanoTime() - start;
+
+        if (args.length > 1) {
+            Files.write(Paths.get(args[1]), lines);
+        } else {
+            PrintWriter out = new PrintWriter(System.out, true);
+            lines.forEach(out::println);
+        }
+        System.err.printf("%d runs on %d levels in %.1f s, %d threads%n", runs * levels.size(), levels.size(),
+                elapsed / 1e9, ForkJoinPool.commonPool().getParallelism());
+    }
+}
\ No newline at end of file
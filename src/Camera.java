@@ -0,0 +1,61 @@
+// Scrolling view onto the world, in pixels. Follows a target and stops at the maze
+// edges; a maze smaller than the view is centred instead.
+class Camera {
+    private final int viewWidth, viewHeight;
+    private int x, y; // World pixel at the view's top-left corner
+
+    public Camera(int viewWidth, int viewHeight) {
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+    }
+
+    public void follow(int targetX, int targetY, int worldWidth, int worldHeight) {
+        x = clamp(targetX - viewWidth / 2, worldWidth - viewWidth);
+        y = clamp(targetY - viewHeight / 2, worldHeight - viewHeight);
+    }
+
+    private static int clamp(int value, int max) {
+        if (max < 0) {
+            return max / 2; // World fits; centre it
+        }
+        return Math.max(0, Math.min(max, value));
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getViewWidth() {
+        return viewWidth;
+    }
+
+    public int getViewHeight() {
+        return viewHeight;
+    }
+
+    // Whether a world-space rectangle overlaps the view
+    public boolean isVisible(int left, int top, int width, int height) {
+        return left < x + viewWidth && left + width > x && top < y + viewHeight && top + height > y;
+    }
+
+    // Range of cells touching the view, clamped to [0, limit)
+    public int firstCol(int cellSize) {
+        return Math.max(0, Math.floorDiv(x, cellSize));
+    }
+
+    public int lastCol(int cellSize, int cols) {
+        return Math.min(cols - 1, Math.floorDiv(x + viewWidth - 1, cellSize));
+    }
+
+    public int firstRow(int cellSize) {
+        return Math.max(0, Math.floorDiv(y, cellSize));
+    }
+
+    public int lastRow(int cellSize, int rows) {
+        return Math.min(rows - 1, Math.floorDiv(y + viewHeight - 1, cellSize));
+    }
+}
\ No newline at end of file
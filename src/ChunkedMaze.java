@@ -0,0 +1,151 @@
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+// Unbounded maze generated tile by tile from the seed, for explore mode.
+// Only recently used tiles are kept in memory; evicted tiles regenerate identically.
+// The game plays on a window of whole tiles around the player, copied into a Maze.
+class ChunkedMaze {
+    public static final int TILE_SIZE = 64; // Cells per tile side (even, so odd cells line up across tiles)
+    private static final int WORDS_PER_TILE = TILE_SIZE * TILE_SIZE / 64;
+
+    private final long seed;
+    private final int pathDensity;
+    private final Map<Long, long[]> tiles;
+
+    public ChunkedMaze(long seed, int pathDensity, int maxTiles) {
+        this.seed = seed;
+        this.pathDensity = pathDensity;
+        this.tiles = new LinkedHashMap<Long, long[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, long[]> eldest) {
+                return size() > maxTiles;
+            }
+        };
+    }
+
+    public boolean isWall(int x, int y) {
+        int tileX = Math.floorDiv(x, TILE_SIZE);
+        int tileY = Math.floorDiv(y, TILE_SIZE);
+        int index = (y - tileY * TILE_SIZE) * TILE_SIZE + (x - tileX * TILE_SIZE);
+        return (getTile(tileX, tileY)[index >>> 6] & (1L << index)) != 0;
+    }
+
+    // Evict tiles more than radius tiles away from the given cell
+    public void retainAround(int x, int y, int radius) {
+        int centerX = Math.floorDiv(x, TILE_SIZE);
+        int centerY = Math.floorDiv(y, TILE_SIZE);
+        tiles.keySet().removeIf(key -> Math.abs(keyX(key) - centerX) > radius || Math.abs(keyY(key) - centerY) > radius);
+    }
+
+    // World cell at the centre of a tile, which is always open and joined to its doors
+    public static int center(int tile) {
+        return tile * TILE_SIZE + TILE_SIZE / 2 + 1;
+    }
+
+    // A size x size block of tiles with tile (tileLeft, tileTop) at the origin, as a Maze.
+    // Start and exit are given in world cells and may lie outside the window.
+    public Maze window(int tileLeft, int tileTop, int size, int startX, int startY, int exitX, int exitY) {
+        int left = tileLeft * TILE_SIZE;
+        int top = tileTop * TILE_SIZE;
+        // A tile row is one word, and the window is a whole number of words wide
+        long[] words = new long[size * TILE_SIZE * size];
+        for (int ty = 0; ty < size; ty++) {
+            for (int tx = 0; tx < size; tx++) {
+                long[] tile = getTile(tileLeft + tx, tileTop + ty);
+                for (int row = 0; row < TILE_SIZE; row++) {
+                    words[(ty * TILE_SIZE + row) * size + tx] = tile[row];
+                }
+            }
+        }
+        return new Maze(size * TILE_SIZE, size * TILE_SIZE, LongBuffer.wrap(words),
+                startX - left, startY - top, exitX - left, exitY - top, new int[0]);
+    }
+
+    public int getLoadedTileCount() {
+        return tiles.size();
+    }
+
+    // Every lookup goes through the map, so the tiles in use stay the most recently used
+    private long[] getTile(int tileX, int tileY) {
+        long key = key(tileX, tileY);
+        long[] tile = tiles.get(key);
+        if (tile == null) {
+            tile = generateTile(tileX, tileY);
+            tiles.put(key, tile);
+        }
+        return tile;
+    }
+
+    private long[] generateTile(int tileX, int tileY) {
+        long[] cells = new long[WORDS_PER_TILE];
+        Random random = new Random(mix(seed ^ key(tileX, tileY)));
+
+        // Initialize all walls
+        Arrays.fill(cells, -1L);
+
+        // Create basic maze structure and paths based on path density
+        for (int i = 0; i < TILE_SIZE; i++) {
+            for (int j = 0; j < TILE_SIZE; j++) {
+                if ((i % 2 == 1 && j % 2 == 1) || random.nextInt(100) < pathDensity) {
+                    setPath(cells, j, i);
+                }
+            }
+        }
+
+        // Connect the tile centre to a door on each edge. Doors are seeded by the edge,
+        // so neighbouring tiles carve to the same spot and the whole world stays connected.
+        int center = TILE_SIZE / 2 + 1;
+        carve(cells, random, center, center, 0, doorOffset(tileX, tileY, 0));                     // West
+        carve(cells, random, center, center, TILE_SIZE - 1, doorOffset(tileX + 1, tileY, 0));      // East
+        carve(cells, random, center, center, doorOffset(tileX, tileY, 1), 0);                     // North
+        carve(cells, random, center, center, doorOffset(tileX, tileY + 1, 1), TILE_SIZE - 1);      // South
+
+        return cells;
+    }
+
+    // Odd offset along the west (axis 0) or north (axis 1) edge of the given tile
+    private int doorOffset(int tileX, int tileY, int axis) {
+        long edgeSeed = mix(seed + key(tileX, tileY) * 31 + axis);
+        return 1 + 2 * (int) Math.floorMod(edgeSeed, (long) (TILE_SIZE / 2 - 1));
+    }
+
+    // Carve a random monotone staircase between two cells of the tile
+    private void carve(long[] cells, Random random, int x, int y, int endX, int endY) {
+        setPath(cells, x, y);
+        while (x != endX || y != endY) {
+            if (x != endX && (y == endY || random.nextBoolean())) {
+                x += Integer.signum(endX - x);
+            } else {
+                y += Integer.signum(endY - y);
+            }
+            setPath(cells, x, y);
+        }
+    }
+
+    private static void setPath(long[] cells, int x, int y) {
+        int index = y * TILE_SIZE + x;
+        cells[index >>> 6] &= ~(1L << index);
+    }
+
+    private static long key(int tileX, int tileY) {
+        return ((long) tileX << 32) | (tileY & 0xFFFFFFFFL);
+    }
+
+    private static int keyX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int keyY(long key) {
+        return (int) key;
+    }
+
+    // SplitMix64 finalizer, spreads nearby seeds apart
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
\ No newline at end of file
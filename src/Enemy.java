@@ -5,14 +5,21 @@ import java.util.Random;
 // Enhanced Enemy class with more visually appealing GUI
 class Enemy extends Entity {
     private double speed;
-    private long lastMoveTime;
+    private double moveTimer = 0; // Simulation milliseconds since the last move
     private int personality;
     private Color eyeColor;
     private Color accentColor;
-    private float pulsePhase = 0;
-    private float glowIntensity = 0;
     private Random random;
     private double animationCounter = 0;
+    private SpatialGrid grid;
+    private int gridId;
+    private int pendingDx, pendingDy; // Move chosen by decide(), applied by commit()
+
+    // Ambusher route cache, recomputed only when the predicted target drifts
+    private static final int REPATH_DISTANCE = 3;
+    private int[] path;
+    private int pathIndex;
+    private int pathTargetX, pathTargetY;
 
     // Additional visual traits
     private boolean hasGlow;
@@ -20,13 +27,21 @@ class Enemy extends Entity {
     private int patternType;
 
     public Enemy(int x, int y, double speed, Color color) {
+        this(x, y, speed, color, (int)(Math.random() * 3));
+    }
+
+    public Enemy(int x, int y, double speed, Color color, int personality) {
+        this(x, y, speed, color, personality, new Random().nextLong());
+    }
+
+    // Seeded enemies make the same choices on every run, whichever thread updates them
+    public Enemy(int x, int y, double speed, Color color, int personality, long seed) {
         super(x, y, color);
         this.speed = speed;
-        this.lastMoveTime = System.currentTimeMillis();
-        this.personality = (int)(Math.random() * 3); // 0=chaser, 1=wanderer, 2=ambusher
+        this.personality = personality; // 0=chaser, 1=wanderer, 2=ambusher
 
-        // Initialize random for animation
-        this.random = new Random();
+        // Initialize random for animation and movement choices
+        this.random = new Random(seed);
 
         // Create complementary colors for accents
         this.eyeColor = new Color(255 - color.getRed(), 255 - color.getGreen(), 255 - color.getBlue());
@@ -51,66 +66,81 @@ class Enemy extends Entity {
         this.speed = speed;
     }
 
-    public void update(Player player, Maze maze) {
+    public int getPersonality() {
+        return personality;
+    }
+
+    public double getAnimationCounter() {
+        return animationCounter;
+    }
+
+    // Advance by one simulation tick of deltaMillis
+    public void update(Player player, Maze maze, FlowField flowField, Pathfinder pathfinder, double deltaMillis) {
+        decide(player, maze, flowField, pathfinder, deltaMillis);
+        commit();
+    }
+
+    // Phase one: pick this tick's move. Only reads shared state and writes this
+    // enemy's own fields, so enemies can decide in parallel.
+    public void decide(Player player, Maze maze, FlowField flowField, Pathfinder pathfinder, double deltaMillis) {
+        pendingDx = 0;
+        pendingDy = 0;
+
         // Update animations
         animationCounter += 0.05;
-        pulsePhase += 0.1;
-        glowIntensity = (float)(0.5 + 0.5 * Math.sin(pulsePhase));
 
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastMoveTime < 1000 / speed) {
+        moveTimer += deltaMillis;
+        if (moveTimer < 1000 / speed) {
             return;
         }
 
-        lastMoveTime = currentTime;
+        moveTimer = 0;
 
         // Different behaviors based on personality
         switch (personality) {
             case 0: // Chaser - direct pursuit
-                chasePlayer(player, maze);
+                chasePlayer(maze, flowField);
                 break;
             case 1: // Wanderer - mostly random movement
-                if (Math.random() < 0.2) { // 20% chance to chase
-                    chasePlayer(player, maze);
+                if (random.nextDouble() < 0.2) { // 20% chance to chase
+                    chasePlayer(maze, flowField);
                 } else {
                     moveRandomly(maze);
                 }
                 break;
             case 2: // Ambusher - tries to predict player movement
-                ambushPlayer(player, maze);
+                ambushPlayer(player, maze, flowField, pathfinder);
                 break;
         }
     }
 
-    private void chasePlayer(Player player, Maze maze) {
-        // Simple AI: try to move toward the player
-        int dx = 0, dy = 0;
-
-        // Determine direction toward player
-        if (player.getX() < x && !maze.isWall(x - 1, y)) dx = -1;
-        else if (player.getX() > x && !maze.isWall(x + 1, y)) dx = 1;
-        else if (player.getY() < y && !maze.isWall(x, y - 1)) dy = -1;
-        else if (player.getY() > y && !maze.isWall(x, y + 1)) dy = 1;
+    private void chasePlayer(Maze maze, FlowField flowField) {
+        // Follow the shared distance field downhill toward the player
+        int direction = flowField.nextStep(x, y);
 
-        // If can't move toward player, try random move
-        if (dx == 0 && dy == 0) {
+        // If the player can't be reached from here, try random move
+        if (direction < 0) {
             moveRandomly(maze);
         } else {
-            x += dx;
-            y += dy;
+            step(direction);
         }
     }
 
-    private void ambushPlayer(Player player, Maze maze) {
+    private void ambushPlayer(Player player, Maze maze, FlowField flowField, Pathfinder pathfinder) {
         // Try to predict where the player is going and intercept
         int playerX = player.getX();
         int playerY = player.getY();
 
         // Calculate player direction (very simple prediction)
-        int targetX = playerX + (playerX - x) / 2;
-        int targetY = playerY + (playerY - y) / 2;
+        int targetX = Math.max(0, Math.min(maze.getCols() - 1, playerX + (playerX - x) / 2));
+        int targetY = Math.max(0, Math.min(maze.getRows() - 1, playerY + (playerY - y) / 2));
+
+        // Follow a real route to the predicted position when there is one
+        if (followPath(maze, pathfinder, targetX, targetY)) {
+            return;
+        }
 
-        // Move toward the predicted position
+        // Otherwise move greedily toward the predicted position
         int dx = 0, dy = 0;
 
         if (targetX < x && !maze.isWall(x - 1, y)) dx = -1;
@@ -118,18 +148,86 @@ class Enemy extends Entity {
         else if (targetY < y && !maze.isWall(x, y - 1)) dy = -1;
         else if (targetY > y && !maze.isWall(x, y + 1)) dy = 1;
 
+        // If the prediction is blocked, fall back to the shortest route
         if (dx == 0 && dy == 0) {
-            moveRandomly(maze);
+            chasePlayer(maze, flowField);
         } else {
-            x += dx;
-            y += dy;
+            plan(dx, dy);
         }
     }
 
+    private boolean followPath(Maze maze, Pathfinder pathfinder, int targetX, int targetY) {
+        if (pathfinder == null || maze.isWall(targetX, targetY)) {
+            path = null;
+            return false;
+        }
+
+        boolean stale = path == null || pathIndex >= path.length ||
+                Math.abs(targetX - pathTargetX) + Math.abs(targetY - pathTargetY) > REPATH_DISTANCE;
+        if (stale) {
+            path = pathfinder.findRoute(x, y, targetX, targetY);
+            pathIndex = 0;
+            pathTargetX = targetX;
+            pathTargetY = targetY;
+        }
+        if (path == null || pathIndex >= path.length) {
+            return false;
+        }
+
+        int cols = maze.getCols();
+        int dx = path[pathIndex] % cols - x;
+        int dy = path[pathIndex] / cols - y;
+        if (Math.abs(dx) + Math.abs(dy) != 1) {
+            path = null; // Knocked off the route somehow; replan next move
+            return false;
+        }
+        pathIndex++;
+        plan(dx, dy);
+        return true;
+    }
+
+    private void step(int direction) {
+        switch (direction) {
+            case 0: plan(-1, 0); break; // Left
+            case 1: plan(1, 0); break;  // Right
+            case 2: plan(0, -1); break; // Up
+            case 3: plan(0, 1); break;  // Down
+        }
+    }
+
+    private void plan(int dx, int dy) {
+        pendingDx = dx;
+        pendingDy = dy;
+    }
+
+    // Phase two: apply the move chosen by decide()
+    public void commit() {
+        if (pendingDx != 0 || pendingDy != 0) {
+            moveBy(pendingDx, pendingDy);
+            pendingDx = 0;
+            pendingDy = 0;
+        }
+    }
+
+    // All movement goes through here so the spatial grid stays in sync
+    private void moveBy(int dx, int dy) {
+        x += dx;
+        y += dy;
+        if (grid != null) {
+            grid.move(gridId, x, y);
+        }
+    }
+
+    // Called by SpatialGrid when it starts tracking this enemy
+    void attach(SpatialGrid grid, int gridId) {
+        this.grid = grid;
+        this.gridId = gridId;
+    }
+
     private void moveRandomly(Maze maze) {
         // Try up to 4 times to find a valid move
         for (int i = 0; i < 4; i++) {
-            int direction = (int)(Math.random() * 4);
+            int direction = random.nextInt(4);
             int dx = 0, dy = 0;
 
             switch (direction) {
@@ -140,18 +238,32 @@ class Enemy extends Entity {
             }
 
             if (!maze.isWall(x + dx, y + dy)) {
-                x += dx;
-                y += dy;
+                plan(dx, dy);
                 return;
             }
         }
     }
 
+    // Key identifying enemies that render identically, so EnemySpriteCache draws them once
+    long getSpriteKey() {
+        return ((long) color.getRGB() & 0xFFFFFFL)
+                | ((long) personality << 24)
+                | ((long) patternType << 26)
+                | (hasGlow ? 1L << 28 : 0)
+                | (pulsating ? 1L << 29 : 0);
+    }
+
     @Override
     public void draw(Graphics2D g) {
         int cellSize = 30;
-        int baseX = x * cellSize;
-        int baseY = y * cellSize;
+        renderFrame(g, x * cellSize, y * cellSize, animationCounter);
+    }
+
+    // Vector drawing of a single animation frame, used to fill the sprite atlas
+    void renderFrame(Graphics2D g, int baseX, int baseY, double animation) {
+        int cellSize = 30;
+        float pulsePhase = (float)(animation * 2);
+        float glowIntensity = (float)(0.5 + 0.5 * Math.sin(pulsePhase));
 
         // Save original graphics settings
         Composite originalComposite = g.getComposite();
@@ -163,7 +275,7 @@ class Enemy extends Entity {
 
         // Draw glow effect if enabled
         if (hasGlow) {
-            drawGlowEffect(g, baseX, baseY, cellSize);
+            drawGlowEffect(g, baseX, baseY, cellSize, glowIntensity);
         }
 
         // Draw pulsating effect if enabled
@@ -171,18 +283,18 @@ class Enemy extends Entity {
         g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
 
         // Draw patterns based on patternType
-        drawPattern(g, baseX, baseY, cellSize);
+        drawPattern(g, baseX, baseY, cellSize, animation);
 
         // Different shapes based on personality with enhanced visuals
         switch (personality) {
             case 0: // Chaser - Evolved Square
-                drawChaser(g, baseX, baseY, cellSize);
+                drawChaser(g, baseX, baseY, cellSize, animation);
                 break;
             case 1: // Wanderer - Evolved Diamond
-                drawWanderer(g, baseX, baseY, cellSize);
+                drawWanderer(g, baseX, baseY, cellSize, animation);
                 break;
             case 2: // Ambusher - Evolved Triangle
-                drawAmbusher(g, baseX, baseY, cellSize);
+                drawAmbusher(g, baseX, baseY, cellSize, animation);
                 break;
         }
 
@@ -192,7 +304,7 @@ class Enemy extends Entity {
         g.setRenderingHints(originalHints);
     }
 
-    private void drawGlowEffect(Graphics2D g, int baseX, int baseY, int cellSize) {
+    private void drawGlowEffect(Graphics2D g, int baseX, int baseY, int cellSize, float glowIntensity) {
         int padding = 5;
         int glowSize = cellSize + 10;
         int glowX = baseX - 5;
@@ -215,14 +327,14 @@ class Enemy extends Entity {
         g.fillOval(glowX, glowY, glowSize, glowSize);
     }
 
-    private void drawPattern(Graphics2D g, int baseX, int baseY, int cellSize) {
+    private void drawPattern(Graphics2D g, int baseX, int baseY, int cellSize, double animation) {
         g.setColor(accentColor);
 
         switch (patternType) {
             case 0: // Spiral pattern
                 g.setStroke(new BasicStroke(1.5f));
                 for (int i = 0; i < 4; i++) {
-                    double angle = animationCounter + i * Math.PI / 2;
+                    double angle = animation + i * Math.PI / 2;
                     int centerX = baseX + cellSize / 2;
                     int centerY = baseY + cellSize / 2;
                     int radius = cellSize / 6;
@@ -259,7 +371,7 @@ class Enemy extends Entity {
         }
     }
 
-    private void drawChaser(Graphics2D g, int baseX, int baseY, int cellSize) {
+    private void drawChaser(Graphics2D g, int baseX, int baseY, int cellSize, double animation) {
         int padding = 5;
         int innerPadding = 3;
 
@@ -292,7 +404,7 @@ class Enemy extends Entity {
         int mouthX = baseX + cellSize/2 - mouthWidth/2;
 
         // Animate mouth
-        double mouthPhase = Math.sin(animationCounter * 2) * mouthHeight / 3;
+        double mouthPhase = Math.sin(animation * 2) * mouthHeight / 3;
         QuadCurve2D mouth = new QuadCurve2D.Float(
                 mouthX, mouthY,
                 mouthX + mouthWidth/2, (float)(mouthY + mouthPhase),
@@ -302,7 +414,7 @@ class Enemy extends Entity {
         g.draw(mouth);
     }
 
-    private void drawWanderer(Graphics2D g, int baseX, int baseY, int cellSize) {
+    private void drawWanderer(Graphics2D g, int baseX, int baseY, int cellSize, double animation) {
         int padding = 5;
 
         // Main body (diamond)
@@ -310,7 +422,7 @@ class Enemy extends Entity {
         int[] yPoints = {baseY + padding, baseY + cellSize/2, baseY + cellSize - padding, baseY + cellSize/2};
 
         // Animate diamond slightly
-        double wobble = Math.sin(animationCounter) * 2;
+        double wobble = Math.sin(animation) * 2;
         xPoints[0] += wobble;
         xPoints[2] -= wobble;
         yPoints[1] += wobble;
@@ -337,7 +449,7 @@ class Enemy extends Entity {
         g.fillOval(baseX + cellSize/2 - 2, baseY + padding - cellSize/4 - 2, 4, 4);
     }
 
-    private void drawAmbusher(Graphics2D g, int baseX, int baseY, int cellSize) {
+    private void drawAmbusher(Graphics2D g, int baseX, int baseY, int cellSize, double animation) {
         int padding = 5;
 
         // Main body (triangle)
@@ -353,7 +465,7 @@ class Enemy extends Entity {
         };
 
         // Animate triangle slightly
-        double wobble = Math.sin(animationCounter) * 2;
+        double wobble = Math.sin(animation) * 2;
         xPoints[0] += wobble;
         yPoints[0] -= wobble;
 
@@ -373,12 +485,12 @@ class Enemy extends Entity {
 
         // Spikes
         int spikeLength = cellSize / 6;
-        double spikeWobble = Math.sin(animationCounter * 2) * 2;
+        double spikeWobble = Math.sin(animation * 2) * 2;
 
         g.setStroke(new BasicStroke(1.5f));
         for (int i = 0; i < 3; i++) {
-            int dx = (int)(Math.cos(i * 2 * Math.PI / 3 + animationCounter) * spikeLength);
-            int dy = (int)(Math.sin(i * 2 * Math.PI / 3 + animationCounter) * spikeLength);
+            int dx = (int)(Math.cos(i * 2 * Math.PI / 3 + animation) * spikeLength);
+            int dy = (int)(Math.sin(i * 2 * Math.PI / 3 + animation) * spikeLength);
             g.drawLine(baseX + cellSize/2, baseY + cellSize/2,
                     baseX + cellSize/2 + dx, baseY + cellSize/2 + dy);
         }
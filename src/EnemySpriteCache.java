@@ -0,0 +1,73 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Atlas of pre-rendered enemy animation frames for one level's enemy looks.
+// Built off to the side on the simulation thread and never changed afterwards, then
+// handed to the renderer in WorldSnapshot; a restart publishes a new one.
+class EnemySpriteCache {
+    public static final int FRAME_COUNT = 32;
+    public static final int MARGIN = 5; // Room for the glow and antenna outside the cell
+    public static final int FRAME_SIZE = 30 + MARGIN * 2;
+    public static final EnemySpriteCache EMPTY = new EnemySpriteCache(new BufferedImage[0], new HashMap<>());
+
+    // One horizontal strip of FRAME_COUNT frames per look, in the order the looks were given
+    private final BufferedImage[] atlases;
+    // The same strips by sprite key, so looks that render identically share one
+    private final Map<Long, BufferedImage> byKey;
+
+    private EnemySpriteCache(BufferedImage[] atlases, Map<Long, BufferedImage> byKey) {
+        this.atlases = atlases;
+        this.byKey = byKey;
+    }
+
+    // Atlases for the given looks. Strips the previous cache already rendered are reused
+    // rather than drawn again, and the previous cache itself is left untouched.
+    public static EnemySpriteCache prepare(List<Enemy> looks, EnemySpriteCache previous) {
+        BufferedImage[] atlases = new BufferedImage[looks.size()];
+        Map<Long, BufferedImage> byKey = new HashMap<>();
+        for (int i = 0; i < atlases.length; i++) {
+            Enemy look = looks.get(i);
+            long key = look.getSpriteKey();
+            BufferedImage atlas = byKey.get(key);
+            if (atlas == null && previous != null) {
+                atlas = previous.byKey.get(key);
+            }
+            if (atlas == null) {
+                atlas = render(look);
+            }
+            byKey.put(key, atlas);
+            atlases[i] = atlas;
+        }
+        return new EnemySpriteCache(atlases, byKey);
+    }
+
+    // Draw one frame of the given look at a pixel position
+    public void drawAt(Graphics2D g, int look, int pixelX, int pixelY, double animation) {
+        int frame = frameIndex(animation);
+        int destX = pixelX - MARGIN;
+        int destY = pixelY - MARGIN;
+        g.drawImage(atlases[look], destX, destY, destX + FRAME_SIZE, destY + FRAME_SIZE,
+                frame * FRAME_SIZE, 0, (frame + 1) * FRAME_SIZE, FRAME_SIZE, null);
+    }
+
+    // Map the enemy's animation counter onto one of the pre-rendered frames
+    public static int frameIndex(double animation) {
+        double cycle = animation / (2 * Math.PI);
+        int frame = (int) Math.round((cycle - Math.floor(cycle)) * FRAME_COUNT);
+        return frame % FRAME_COUNT;
+    }
+
+    private static BufferedImage render(Enemy enemy) {
+        BufferedImage atlas = new BufferedImage(FRAME_SIZE * FRAME_COUNT, FRAME_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = atlas.createGraphics();
+        for (int frame = 0; frame < FRAME_COUNT; frame++) {
+            double animation = frame * 2 * Math.PI / FRAME_COUNT;
+            enemy.renderFrame(g, frame * FRAME_SIZE + MARGIN, MARGIN, animation);
+        }
+        g.dispose();
+        return atlas;
+    }
+}
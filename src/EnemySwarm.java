@@ -0,0 +1,213 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// Structure-of-arrays enemy store for swarm levels with thousands of enemies.
+// Follows the same rules as Enemy.update, but keeps the hot state in parallel
+// primitive arrays and updates everything in one allocation-free pass.
+class EnemySwarm {
+    private static final int PARALLEL_CHUNK = 1024; // Enemies decided per parallel task
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int rows, cols;
+    private final Enemy[] looks; // Shared appearance (and personality) prototypes
+    private final int[] cellCounts;
+    private final long seed;
+
+    private int size = 0;
+    private int[] xs = new int[64];
+    private int[] ys = new int[64];
+    private double[] moveIntervals = new double[64]; // 1000 / speed
+    private double[] moveTimers = new double[64];
+    private double[] animations = new double[64];
+    private byte[] personalities = new byte[64];
+    private byte[] lookIndexes = new byte[64];
+    private long[] randomStates = new long[64]; // Per-enemy SplitMix64 state
+    private byte[] pendingMoves = new byte[64];  // Direction chosen this tick, -1 for none
+
+    public EnemySwarm(int rows, int cols, Enemy[] looks, long seed) {
+        this.rows = rows;
+        this.cols = cols;
+        this.looks = looks;
+        this.cellCounts = new int[rows * cols];
+        this.seed = seed;
+    }
+
+    public void add(int x, int y, double speed, int look) {
+        if (size == xs.length) {
+            int capacity = size * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            moveIntervals = Arrays.copyOf(moveIntervals, capacity);
+            moveTimers = Arrays.copyOf(moveTimers, capacity);
+            animations = Arrays.copyOf(animations, capacity);
+            personalities = Arrays.copyOf(personalities, capacity);
+            lookIndexes = Arrays.copyOf(lookIndexes, capacity);
+            randomStates = Arrays.copyOf(randomStates, capacity);
+            pendingMoves = Arrays.copyOf(pendingMoves, capacity);
+        }
+        int i = size++;
+        xs[i] = x;
+        ys[i] = y;
+        moveIntervals[i] = 1000 / speed;
+        moveTimers[i] = 0;
+        animations[i] = 0;
+        personalities[i] = (byte) looks[look].getPersonality();
+        lookIndexes[i] = (byte) look;
+        randomStates[i] = seed + i * GOLDEN_GAMMA;
+        pendingMoves[i] = -1;
+        cellCounts[y * cols + x]++;
+    }
+
+    // Advance every enemy by one simulation tick
+    public void updateAll(Player player, Maze maze, FlowField flowField, double deltaMillis) {
+        decideRange(0, size, player, maze, flowField, deltaMillis);
+        commitAll();
+    }
+
+    // Same result as updateAll: every enemy has its own generator and decisions only
+    // read shared state, so chunks decide in parallel and moves are applied in order after.
+    public void updateAllParallel(Player player, Maze maze, FlowField flowField, double deltaMillis) {
+        int chunks = (size + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> decideRange(chunk * PARALLEL_CHUNK,
+                Math.min(size, (chunk + 1) * PARALLEL_CHUNK), player, maze, flowField, deltaMillis));
+        commitAll();
+    }
+
+    private void decideRange(int from, int to, Player player, Maze maze, FlowField flowField, double deltaMillis) {
+        // Update animations
+        for (int i = from; i < to; i++) {
+            animations[i] += 0.05;
+        }
+
+        for (int i = from; i < to; i++) {
+            pendingMoves[i] = -1;
+            moveTimers[i] += deltaMillis;
+            if (moveTimers[i] < moveIntervals[i]) {
+                continue;
+            }
+            moveTimers[i] = 0;
+
+            // Different behaviors based on personality
+            switch (personalities[i]) {
+                case 0: // Chaser - direct pursuit
+                    chasePlayer(i, maze, flowField);
+                    break;
+                case 1: // Wanderer - mostly random movement
+                    if (nextDouble(i) < 0.2) { // 20% chance to chase
+                        chasePlayer(i, maze, flowField);
+                    } else {
+                        moveRandomly(i, maze);
+                    }
+                    break;
+                case 2: // Ambusher - tries to predict player movement
+                    ambushPlayer(i, player, maze, flowField);
+                    break;
+            }
+        }
+    }
+
+    private void commitAll() {
+        for (int i = 0; i < size; i++) {
+            switch (pendingMoves[i]) {
+                case 0: moveBy(i, -1, 0); break; // Left
+                case 1: moveBy(i, 1, 0); break;  // Right
+                case 2: moveBy(i, 0, -1); break; // Up
+                case 3: moveBy(i, 0, 1); break;  // Down
+            }
+        }
+    }
+
+    private void chasePlayer(int i, Maze maze, FlowField flowField) {
+        int direction = flowField.nextStep(xs[i], ys[i]);
+        if (direction < 0) {
+            moveRandomly(i, maze);
+        } else {
+            pendingMoves[i] = (byte) direction;
+        }
+    }
+
+    private void ambushPlayer(int i, Player player, Maze maze, FlowField flowField) {
+        int x = xs[i], y = ys[i];
+        int targetX = player.getX() + (player.getX() - x) / 2;
+        int targetY = player.getY() + (player.getY() - y) / 2;
+
+        if (targetX < x && !maze.isWall(x - 1, y)) pendingMoves[i] = 0;
+        else if (targetX > x && !maze.isWall(x + 1, y)) pendingMoves[i] = 1;
+        else if (targetY < y && !maze.isWall(x, y - 1)) pendingMoves[i] = 2;
+        else if (targetY > y && !maze.isWall(x, y + 1)) pendingMoves[i] = 3;
+        else chasePlayer(i, maze, flowField);
+    }
+
+    private void moveRandomly(int i, Maze maze) {
+        // Try up to 4 times to find a valid move
+        for (int attempt = 0; attempt < 4; attempt++) {
+            int direction = nextInt(i, 4);
+            int dx = 0, dy = 0;
+            switch (direction) {
+                case 0: dx = -1; break; // Left
+                case 1: dx = 1; break;  // Right
+                case 2: dy = -1; break; // Up
+                case 3: dy = 1; break;  // Down
+            }
+            if (!maze.isWall(xs[i] + dx, ys[i] + dy)) {
+                pendingMoves[i] = (byte) direction;
+                return;
+            }
+        }
+    }
+
+    private void moveBy(int i, int dx, int dy) {
+        cellCounts[ys[i] * cols + xs[i]]--;
+        xs[i] += dx;
+        ys[i] += dy;
+        cellCounts[ys[i] * cols + xs[i]]++;
+    }
+
+    // SplitMix64 step on enemy i's own state
+    private long nextLong(int i) {
+        long z = (randomStates[i] += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private int nextInt(int i, int bound) {
+        return (int) ((nextLong(i) >>> 1) % bound);
+    }
+
+    private double nextDouble(int i) {
+        return (nextLong(i) >>> 11) * 0x1.0p-53;
+    }
+
+    public int countAt(int x, int y) {
+        if (x < 0 || x >= cols || y < 0 || y >= rows) {
+            return 0;
+        }
+        return cellCounts[y * cols + x];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getX(int i) {
+        return xs[i];
+    }
+
+    public int getY(int i) {
+        return ys[i];
+    }
+
+    public double getAnimation(int i) {
+        return animations[i];
+    }
+
+    // Index into getLooks() of the enemy's appearance
+    public int getLookIndex(int i) {
+        return lookIndexes[i];
+    }
+
+    public Enemy[] getLooks() {
+        return looks;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+// Distance field from the player's cell, shared by all enemies
+class FlowField {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final Maze maze;
+    private final int rows, cols;
+    private final int[] distance;
+    private final int[] queue;
+    private int sourceX = -1, sourceY = -1;
+
+    public FlowField(Maze maze) {
+        this.maze = maze;
+        this.rows = maze.getRows();
+        this.cols = maze.getCols();
+        this.distance = new int[rows * cols];
+        this.queue = new int[rows * cols];
+    }
+
+    // Recompute only if the player has moved since the last BFS
+    public void update(Player player) {
+        if (player.getX() == sourceX && player.getY() == sourceY) {
+            return;
+        }
+        sourceX = player.getX();
+        sourceY = player.getY();
+        compute();
+    }
+
+    private void compute() {
+        java.util.Arrays.fill(distance, UNREACHABLE);
+        if (maze.isWall(sourceX, sourceY)) {
+            return;
+        }
+
+        int head = 0, tail = 0;
+        int start = sourceY * cols + sourceX;
+        distance[start] = 0;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int cell = queue[head++];
+            int x = cell % cols;
+            int y = cell / cols;
+            int next = distance[cell] + 1;
+
+            if (x > 0 && distance[cell - 1] == UNREACHABLE && !maze.isWall(x - 1, y)) {
+                distance[cell - 1] = next;
+                queue[tail++] = cell - 1;
+            }
+            if (x < cols - 1 && distance[cell + 1] == UNREACHABLE && !maze.isWall(x + 1, y)) {
+                distance[cell + 1] = next;
+                queue[tail++] = cell + 1;
+            }
+            if (y > 0 && distance[cell - cols] == UNREACHABLE && !maze.isWall(x, y - 1)) {
+                distance[cell - cols] = next;
+                queue[tail++] = cell - cols;
+            }
+            if (y < rows - 1 && distance[cell + cols] == UNREACHABLE && !maze.isWall(x, y + 1)) {
+                distance[cell + cols] = next;
+                queue[tail++] = cell + cols;
+            }
+        }
+    }
+
+    public int getDistance(int x, int y) {
+        if (x < 0 || x >= cols || y < 0 || y >= rows) {
+            return UNREACHABLE;
+        }
+        return distance[y * cols + x];
+    }
+
+    // Returns the direction (0=left, 1=right, 2=up, 3=down) that gets closest to the player, or -1
+    public int nextStep(int x, int y) {
+        int best = getDistance(x, y);
+        int direction = -1;
+
+        if (getDistance(x - 1, y) < best) { best = getDistance(x - 1, y); direction = 0; }
+        if (getDistance(x + 1, y) < best) { best = getDistance(x + 1, y); direction = 1; }
+        if (getDistance(x, y - 1) < best) { best = getDistance(x, y - 1); direction = 2; }
+        if (getDistance(x, y + 1) < best) { direction = 3; }
+
+        return direction;
+    }
+}
\ No newline at end of file
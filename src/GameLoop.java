@@ -0,0 +1,79 @@
+import java.util.concurrent.locks.LockSupport;
+
+// Fixed-timestep simulation loop running on its own thread
+class GameLoop implements Runnable {
+    private static final int MAX_CATCH_UP_TICKS = 5; // Drop time instead of spiralling when far behind
+
+    private final long tickNanos;
+    private final Runnable tick;
+    private final Runnable frame; // Optional, runs once after each batch of ticks
+    private volatile boolean running = false;
+    private Thread thread;
+
+    public GameLoop(int ticksPerSecond, Runnable tick) {
+        this(ticksPerSecond, tick, null);
+    }
+
+    public GameLoop(int ticksPerSecond, Runnable tick, Runnable frame) {
+        this.tickNanos = 1_000_000_000L / ticksPerSecond;
+        this.tick = tick;
+        this.frame = frame;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "game-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Waits for the loop to finish its current tick or frame, unless called from the loop itself
+    public void stop() {
+        Thread stopped;
+        synchronized (this) {
+            running = false;
+            stopped = thread;
+            thread = null;
+        }
+        if (stopped != null && stopped != Thread.currentThread()) {
+            stopped.interrupt();
+            try {
+                stopped.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        long nextTick = System.nanoTime();
+
+        while (running) {
+            long now = System.nanoTime();
+            int ticks = 0;
+
+            // Run every tick that is due, in fixed steps
+            while (now - nextTick >= 0 && ticks < MAX_CATCH_UP_TICKS) {
+                tick.run();
+                nextTick += tickNanos;
+                ticks++;
+            }
+            if (now - nextTick >= 0) {
+                nextTick = now;
+            }
+            if (ticks > 0 && frame != null && running) {
+                frame.run();
+            }
+
+            LockSupport.parkNanos(nextTick - System.nanoTime());
+        }
+    }
+}
\ No newline at end of file
@@ -1,30 +1,65 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.util.ArrayList;
+import java.awt.image.BufferStrategy;
+import java.awt.image.VolatileImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
-class GamePanel extends JPanel implements ActionListener {
+class GamePanel extends JPanel {
     // Constants
     private static final int CELL_SIZE = 30;
-    private static final int ROWS = 15;
-    private static final int COLS = 20;
-    private static final int PANEL_WIDTH = COLS * CELL_SIZE;
-    private static final int PANEL_HEIGHT = ROWS * CELL_SIZE;
-    private static final int TIMER_DELAY = 1000; // 1 second for timer updates
-    private static final int GAME_SPEED = 16; // ~60 FPS
-
-    // Game objects
-    private Maze maze;
-    private Player player;
-    private ArrayList<Enemy> enemies;
+    private static final int PANEL_WIDTH = GameWorld.COLS * CELL_SIZE;
+    private static final int PANEL_HEIGHT = GameWorld.ROWS * CELL_SIZE;
+    private static final int GAME_SPEED = 16; // ~60 FPS repaint
+    private static final String STATS_DIR_PROPERTY = "maze.statsDir"; // Dump timing stats here at level end
+    private static final String REPLAY_DIR_PROPERTY = "maze.replayDir"; // Save input replays here at level end
+    private static final String ACTIVE_RENDERING_PROPERTY = "maze.activeRendering"; // true: draw from the game loop
+    private static final String MAZE_FILE_PROPERTY = "maze.file"; // Play levels on this MazeFile instead of generating
+
+    // Game state, owned by the simulation thread
+    private final GameWorld world;
     private Level currentLevel;
-
-    // Game state
-    private int timeRemaining;
-    private boolean gameOver = false;
-    private boolean levelComplete = false;
-    private Timer gameTimer;
-    private Timer countdownTimer;
+    private final boolean loadedMaze; // Playing a MazeFile, which replays can't rebuild
+
+    // Static maze layer covering the view plus a margin, re-rendered when the camera leaves it
+    private static final int LAYER_MARGIN = 8; // Cells beyond the view on each side
+    private VolatileImage mazeLayer;
+    private Maze layerMaze;
+    private boolean mazeLayerDirty = true;
+    private int layerLeft, layerTop, layerCols, layerRows; // Cells covered by the layer
+
+    // Follows the player across mazes larger than the window
+    private final Camera camera = new Camera(PANEL_WIDTH, PANEL_HEIGHT);
+
+    // Key presses from the EDT, applied by the simulation at the start of the next tick.
+    // A full queue drops the key, which only happens if the loop stalls under key repeat.
+    private static final int INPUT_CAPACITY = 64;
+    private final InputQueue inputQueue = new InputQueue(INPUT_CAPACITY);
+
+    private GameLoop gameLoop;
+    private Timer repaintTimer;      // Passive rendering: Swing repaints on a timer
+    private final Canvas canvas;     // Active rendering: the game loop draws into its BufferStrategy
+
+    // Latest state published by the simulation. The EDT pins a snapshot before reading it,
+    // since the simulation recycles snapshots nobody holds.
+    private volatile WorldSnapshot snapshot;
+    private EnemySpriteCache sprites = EnemySpriteCache.EMPTY; // Owned by the simulation thread
+
+    // Passive rendering repaints only what changed; the frame and time the next paint shows
+    // are fixed when the repaint is requested so the dirty area matches what gets drawn
+    private static final int HUD_HEIGHT = 48;
+    private final RepaintTracker repaintTracker = new RepaintTracker(CELL_SIZE, PANEL_WIDTH, PANEL_HEIGHT, HUD_HEIGHT);
+    private WorldSnapshot paintFrame; // Pinned until the next frame replaces it
+    private long paintNanos;
+
+    // Every input of this session, for headless playback with Replay
+    private final Replay replay;
+
+    // Timing instrumentation, shown with F3
+    private final PerformanceStats stats = new PerformanceStats(GAME_SPEED * 1_000_000L);
+    private volatile boolean showStats = false;
 
     public GamePanel(Level level) {
         setPreferredSize(new Dimension(PANEL_WIDTH, PANEL_HEIGHT));
@@ -35,21 +70,34 @@ class GamePanel extends JPanel implements ActionListener {
         this.currentLevel = level;
 
         // Initialize game objects
+        Maze maze = loadMazeFile();
+        loadedMaze = maze != null;
+        world = new GameWorld(level, maze);
+        world.setStats(stats);
+        replay = new Replay(level.getNumber());
+        world.setRecorder(replay);
         initializeGame();
 
-        // Set up timers
-        gameTimer = new Timer(GAME_SPEED, e -> updateGame());
-        countdownTimer = new Timer(TIMER_DELAY, this);
-
-        // Add key listener for player control
-        addKeyListener(new KeyAdapter() {
+        // Key listener for player control
+        KeyAdapter controls = new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_F3) {
+                    showStats = !showStats;
+                    return;
+                }
+
+                // The EDT never touches the world: moves and restarts are queued for the
+                // simulation thread, and the finished state is read from the latest snapshot
+                WorldSnapshot frame = pinSnapshot();
+                boolean gameOver = frame.gameOver;
+                boolean levelComplete = frame.levelComplete;
+                frame.unpin();
                 if (gameOver || levelComplete) {
                     if (e.getKeyCode() == KeyEvent.VK_SPACE) {
                         if (gameOver) {
-                            restartLevel();
-                        } else if (levelComplete) {
+                            inputQueue.offer(GameWorld.RESTART);
+                        } else {
                             Window window = SwingUtilities.getWindowAncestor(GamePanel.this);
                             if (window != null) {
                                 window.dispose();
@@ -58,184 +106,358 @@ class GamePanel extends JPanel implements ActionListener {
                     }
                     return;
                 }
-
                 switch (e.getKeyCode()) {
                     case KeyEvent.VK_UP:
-                        player.move(0, -1, maze);
+                        inputQueue.offer(GameWorld.MOVE_UP);
                         break;
                     case KeyEvent.VK_DOWN:
-                        player.move(0, 1, maze);
+                        inputQueue.offer(GameWorld.MOVE_DOWN);
                         break;
                     case KeyEvent.VK_LEFT:
-                        player.move(-1, 0, maze);
+                        inputQueue.offer(GameWorld.MOVE_LEFT);
                         break;
                     case KeyEvent.VK_RIGHT:
-                        player.move(1, 0, maze);
+                        inputQueue.offer(GameWorld.MOVE_RIGHT);
                         break;
                 }
             }
-        });
+        };
+        addKeyListener(controls);
+
+        // Simulation runs at a fixed rate on its own thread. Frames are either painted by
+        // Swing on a timer, or drawn by the loop itself right after each batch of ticks.
+        if (Boolean.getBoolean(ACTIVE_RENDERING_PROPERTY)) {
+            canvas = new Canvas();
+            canvas.setPreferredSize(new Dimension(PANEL_WIDTH, PANEL_HEIGHT));
+            canvas.setIgnoreRepaint(true);
+            canvas.addKeyListener(controls);
+            setLayout(new BorderLayout());
+            add(canvas, BorderLayout.CENTER);
+            gameLoop = new GameLoop(GameWorld.TICK_RATE, this::updateGame, this::renderActive);
+        } else {
+            canvas = null;
+            gameLoop = new GameLoop(GameWorld.TICK_RATE, this::updateGame);
+            repaintTimer = new Timer(GAME_SPEED, e -> repaintChanged());
+        }
 
         // Start the game
         startGame();
     }
 
     private void initializeGame() {
-        timeRemaining = currentLevel.getTimeLimit();
-
-        // Create maze and apply level-specific generation
-        maze = new Maze(ROWS, COLS);
-        maze.setSeed(currentLevel.getNumber() * 1000); // Consistent maze generation per level
-        currentLevel.generateMaze(maze);
+        // Pre-render enemy animation frames for this level into a new atlas; the EDT keeps
+        // drawing from the one in the last snapshot until the next snapshot carries this one
+        sprites = EnemySpriteCache.prepare(world.getEnemyLooks(), sprites);
 
-        player = new Player(1, 1);
-        enemies = new ArrayList<>();
-
-        // Create enemies based on the level
-        int enemyCount = currentLevel.getEnemyCount();
-        double enemySpeed = currentLevel.getEnemySpeed();
+        publishSnapshot();
+    }
 
-        if (enemyCount > 0) {
-            createEnemies(enemyCount, enemySpeed);
+    private void startGame() {
+        stats.startGcMonitoring();
+        gameLoop.start();
+        if (repaintTimer != null) {
+            repaintTimer.start();
+        }
+        if (canvas != null) {
+            canvas.requestFocus();
+        } else {
+            requestFocus();
         }
-
-        gameOver = false;
-        levelComplete = false;
     }
 
-    private void createEnemies(int count, double speed) {
-        java.util.Random random = new java.util.Random(currentLevel.getNumber() * 2000);
-
-        for (int i = 0; i < count; i++) {
-            int enemyX, enemyY;
-            boolean validPosition;
-
-            // Ensure enemies don't spawn too close to player or other enemies
-            do {
-                validPosition = true;
-                enemyX = random.nextInt(COLS - 4) + 2;
-                enemyY = random.nextInt(ROWS - 4) + 2;
-
-                // Check if position is valid (not a wall and not too close to player)
-                if (maze.isWall(enemyX, enemyY) ||
-                        (Math.abs(enemyX - player.getX()) < 5 && Math.abs(enemyY - player.getY()) < 5)) {
-                    validPosition = false;
-                    continue;
-                }
-
-                // Check if too close to other enemies
-                for (Enemy otherEnemy : enemies) {
-                    if (Math.abs(enemyX - otherEnemy.getX()) < 3 &&
-                            Math.abs(enemyY - otherEnemy.getY()) < 3) {
-                        validPosition = false;
-                        break;
-                    }
+    // One fixed simulation step, called from the game loop thread
+    private void updateGame() {
+        int input;
+        while ((input = inputQueue.poll()) != InputQueue.EMPTY) {
+            if (input == GameWorld.RESTART) {
+                if (world.isGameOver()) { // A second press may arrive after the first restarted
+                    restartLevel();
                 }
-            } while (!validPosition);
+            } else {
+                world.applyInput(input);
+            }
+        }
 
-            Color enemyColor = new Color(
-                    200 + random.nextInt(55),  // More red
-                    random.nextInt(100),       // Less green
-                    random.nextInt(100)        // Less blue
-            );
+        boolean wasFinished = world.isFinished();
+        long start = System.nanoTime();
+        world.step();
+        stats.recordTick(System.nanoTime() - start);
+        publishSnapshot();
 
-            enemies.add(new Enemy(enemyX, enemyY, speed, enemyColor));
+        if (!wasFinished && world.isFinished()) {
+            dumpStats();
+            saveReplay();
         }
     }
 
-    private void startGame() {
-        gameTimer.start();
-        countdownTimer.start();
-        requestFocus();
+    private void dumpStats() {
+        String dir = System.getProperty(STATS_DIR_PROPERTY);
+        if (dir == null) {
+            return;
+        }
+        Path file = Paths.get(dir, "level-" + currentLevel.getNumber() + "-stats-" + System.currentTimeMillis() + ".txt");
+        try {
+            stats.dump(file, "Level " + currentLevel.getNumber() + (world.isLevelComplete() ? " complete" : " game over"));
+        } catch (IOException e) {
+            System.out.println("Error saving stats: " + e.getMessage());
+        }
     }
 
-    private void updateGame() {
-        if (!gameOver && !levelComplete) {
-            // Update enemies
-            for (Enemy enemy : enemies) {
-                enemy.update(player, maze);
-            }
-
-            // Check collisions
-            checkCollisions();
+    private void saveReplay() {
+        String dir = System.getProperty(REPLAY_DIR_PROPERTY);
+        if (dir == null || loadedMaze) {
+            return;
+        }
+        Path file = Paths.get(dir, "level-" + currentLevel.getNumber() + "-" + System.currentTimeMillis() + ".mzr");
+        try {
+            replay.write(file, world.stateHash());
+        } catch (IOException e) {
+            System.out.println("Error saving replay: " + e.getMessage());
         }
-        repaint();
     }
 
-    private void checkCollisions() {
-        // Check if player reached the exit
-        if (player.getX() == COLS - 2 && player.getY() == ROWS - 2) {
-            levelComplete = true;
-            gameTimer.stop();
-            countdownTimer.stop();
+    // The maze named by MAZE_FILE_PROPERTY, or null to generate the level's own
+    private static Maze loadMazeFile() {
+        String file = System.getProperty(MAZE_FILE_PROPERTY);
+        if (file == null) {
+            return null;
+        }
+        try {
+            return MazeFile.load(Paths.get(file));
+        } catch (IOException e) {
+            System.out.println("Error loading maze: " + e.getMessage());
+            return null;
         }
+    }
+
+    private void publishSnapshot() {
+        snapshot = world.capture(snapshot, sprites);
+    }
 
-        // Check if player touched any enemy
-        for (Enemy enemy : enemies) {
-            if (player.getX() == enemy.getX() && player.getY() == enemy.getY()) {
-                gameOver = true;
-                gameTimer.stop();
-                countdownTimer.stop();
-                break;
+    // EDT side: the latest snapshot, pinned so the simulation won't rewrite it until unpinned
+    private WorldSnapshot pinSnapshot() {
+        while (true) {
+            WorldSnapshot frame = snapshot;
+            if (frame.pin()) {
+                return frame;
             }
         }
     }
 
+    // Called from the simulation thread; the repaint tracker belongs to the EDT
     private void restartLevel() {
+        world.reset();
+        stats.reset();
         initializeGame();
-        gameTimer.start();
-        countdownTimer.start();
+        SwingUtilities.invokeLater(repaintTracker::invalidate);
     }
 
     @Override
-    public void actionPerformed(ActionEvent e) {
-        // Countdown timer
-        if (timeRemaining > 0) {
-            timeRemaining--;
-        } else {
-            gameOver = true;
-            gameTimer.stop();
-            countdownTimer.stop();
+    public void addNotify() {
+        super.addNotify();
+        if (canvas != null) {
+            canvas.createBufferStrategy(2); // Page flipping where available, otherwise blitting
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        // Stop the simulation when the panel's window goes away
+        gameLoop.stop();
+        if (repaintTimer != null) {
+            repaintTimer.stop();
         }
-        repaint();
+        stats.stopGcMonitoring();
+        super.removeNotify();
+    }
+
+    // Passive rendering: work out what the next frame changes and repaint only that
+    private void repaintChanged() {
+        WorldSnapshot frame = pinSnapshot();
+        long now = System.nanoTime();
+        double alpha = alphaAt(frame, now);
+        followPlayer(frame, alpha);
+
+        Rectangle dirty = repaintTracker.update(frame, alpha, camera, showStats);
+        if (dirty.isEmpty()) {
+            frame.unpin();
+            stats.recordSkippedFrame();
+            return;
+        }
+        if (paintFrame != null) {
+            paintFrame.unpin();
+        }
+        paintFrame = frame;
+        paintNanos = now;
+        repaint(dirty);
     }
 
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
+        if (canvas == null) {
+            WorldSnapshot frame = paintFrame;
+            if (frame == null) {
+                frame = pinSnapshot();
+                paintNanos = System.nanoTime();
+                render((Graphics2D) g, frame, paintNanos);
+                frame.unpin();
+            } else {
+                render((Graphics2D) g, frame, paintNanos);
+            }
+        }
+    }
+
+    // Present one frame from the game loop thread, redrawing if the buffer is lost meanwhile.
+    // The loop only rewrites snapshots between frames, so it draws the latest without pinning.
+    private void renderActive() {
+        BufferStrategy strategy = canvas.getBufferStrategy();
+        if (strategy == null) {
+            return; // Not displayable yet
+        }
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    g.setColor(getBackground());
+                    g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+                    render(g, snapshot, System.nanoTime());
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    // Fraction of a tick elapsed since the snapshot, for smooth movement
+    private double alphaAt(WorldSnapshot frame, long nanos) {
+        double alpha = (nanos - frame.timeNanos) / (double) gameLoop.getTickNanos();
+        return Math.max(0, Math.min(1, alpha));
+    }
+
+    // Centre the view on where the player is drawn this frame
+    private void followPlayer(WorldSnapshot frame, double alpha) {
+        camera.follow(interpolate(frame.prevPlayerX, frame.playerX, alpha) + CELL_SIZE / 2,
+                interpolate(frame.prevPlayerY, frame.playerY, alpha) + CELL_SIZE / 2,
+                frame.maze.getCols() * CELL_SIZE, frame.maze.getRows() * CELL_SIZE);
+    }
+
+    // Draws one frame as of the given time; used by both rendering modes
+    private void render(Graphics2D g2d, WorldSnapshot frame, long nanos) {
+        long paintStart = System.nanoTime();
+        double alpha = alphaAt(frame, nanos);
+        int playerX = interpolate(frame.prevPlayerX, frame.playerX, alpha);
+        int playerY = interpolate(frame.prevPlayerY, frame.playerY, alpha);
+        followPlayer(frame, alpha);
+        g2d.translate(-camera.getX(), -camera.getY());
+        Rectangle clip = g2d.getClipBounds(); // Only the dirty area when repainting part of the view
 
         // Draw maze with level-specific background
-        maze.draw(g2d, currentLevel.getBackgroundColor());
+        drawMazeLayer(g2d, frame.maze);
 
         // Draw player
-        player.draw(g2d);
-
-        // Draw enemies
-        for (Enemy enemy : enemies) {
-            enemy.draw(g2d);
+        Player.drawAt(g2d, frame.playerColor, playerX, playerY);
+
+        // Draw enemies, skipping those outside the view or the area being repainted
+        int margin = EnemySpriteCache.MARGIN;
+        int size = EnemySpriteCache.FRAME_SIZE;
+        for (int i = 0; i < frame.getEnemyCount(); i++) {
+            int enemyX = interpolate(frame.prevEnemyX[i], frame.enemyX[i], alpha);
+            int enemyY = interpolate(frame.prevEnemyY[i], frame.enemyY[i], alpha);
+            if (camera.isVisible(enemyX - margin, enemyY - margin, size, size) &&
+                    (clip == null || clip.intersects(enemyX - margin, enemyY - margin, size, size))) {
+                frame.sprites.drawAt(g2d, frame.enemyLook[i], enemyX, enemyY, frame.enemyAnimation[i]);
+            }
         }
+        g2d.translate(camera.getX(), camera.getY());
 
         // Draw HUD
-        drawHUD(g2d);
+        drawHUD(g2d, frame);
+        if (showStats) {
+            drawStats(g2d);
+        }
 
         // Draw game over message
-        if (gameOver) {
+        if (frame.gameOver) {
             drawGameOver(g2d);
         }
 
         // Draw level complete message
-        if (levelComplete) {
+        if (frame.levelComplete) {
             drawLevelComplete(g2d);
         }
+
+        stats.recordPaint(paintStart, System.nanoTime() - paintStart);
     }
 
-    private void drawHUD(Graphics2D g) {
+    static int interpolate(int fromCell, int toCell, double alpha) {
+        return (int) Math.round((fromCell + (toCell - fromCell) * alpha) * CELL_SIZE);
+    }
+
+    // Draws the visible part of the maze; g is already in world coordinates
+    private void drawMazeLayer(Graphics2D g, Maze maze) {
+        int firstCol = camera.firstCol(CELL_SIZE);
+        int firstRow = camera.firstRow(CELL_SIZE);
+        int lastCol = camera.lastCol(CELL_SIZE, maze.getCols());
+        int lastRow = camera.lastRow(CELL_SIZE, maze.getRows());
+
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null) {
+            drawCells(g, maze, firstCol, firstRow, lastCol - firstCol + 1, lastRow - firstRow + 1);
+            return;
+        }
+        if (maze != layerMaze) {
+            layerMaze = maze;
+            layerCols = Math.min(maze.getCols(), PANEL_WIDTH / CELL_SIZE + 1 + 2 * LAYER_MARGIN);
+            layerRows = Math.min(maze.getRows(), PANEL_HEIGHT / CELL_SIZE + 1 + 2 * LAYER_MARGIN);
+            if (mazeLayer != null) {
+                mazeLayer.flush();
+                mazeLayer = null;
+            }
+            mazeLayerDirty = true;
+        }
+
+        // Recentre the layer once the view scrolls past its edge
+        if (firstCol < layerLeft || lastCol >= layerLeft + layerCols ||
+                firstRow < layerTop || lastRow >= layerTop + layerRows) {
+            layerLeft = Math.max(0, Math.min(maze.getCols() - layerCols, firstCol - LAYER_MARGIN));
+            layerTop = Math.max(0, Math.min(maze.getRows() - layerRows, firstRow - LAYER_MARGIN));
+            mazeLayerDirty = true;
+        }
+
+        // Re-render if the image was lost, the level changed, the view moved or the display changed
+        do {
+            int status = mazeLayer == null ? VolatileImage.IMAGE_INCOMPATIBLE : mazeLayer.validate(gc);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (mazeLayer != null) {
+                    mazeLayer.flush();
+                }
+                mazeLayer = gc.createCompatibleVolatileImage(layerCols * CELL_SIZE, layerRows * CELL_SIZE);
+            }
+            if (mazeLayerDirty || status != VolatileImage.IMAGE_OK) {
+                Graphics2D layer = mazeLayer.createGraphics();
+                maze.draw(layer, currentLevel.getBackgroundColor(), layerLeft, layerTop, layerCols, layerRows);
+                layer.dispose();
+                mazeLayerDirty = false;
+            }
+            g.drawImage(mazeLayer, layerLeft * CELL_SIZE, layerTop * CELL_SIZE, null);
+        } while (mazeLayer.contentsLost());
+    }
+
+    private void drawCells(Graphics2D g, Maze maze, int left, int top, int widthCells, int heightCells) {
+        g.translate(left * CELL_SIZE, top * CELL_SIZE);
+        maze.draw(g, currentLevel.getBackgroundColor(), left, top, widthCells, heightCells);
+        g.translate(-left * CELL_SIZE, -top * CELL_SIZE);
+    }
+
+    private void drawHUD(Graphics2D g, WorldSnapshot frame) {
         g.setColor(Color.WHITE);
         g.setFont(new Font("Arial", Font.BOLD, 16));
         g.drawString("Level: " + currentLevel.getNumber() + " - " + currentLevel.getName(), 10, 20);
-        g.drawString("Time: " + timeRemaining, PANEL_WIDTH - 100, 20);
-        g.drawString("Enemies: " + enemies.size(), 10, 40);
+        g.drawString("Time: " + frame.timeRemaining, PANEL_WIDTH - 100, 20);
+        g.drawString("Enemies: " + frame.getEnemyCount(), 10, 40);
 
         // Draw mini-map or instructions as needed
         if (currentLevel.getNumber() == 1) {
@@ -245,6 +467,18 @@ class GamePanel extends JPanel implements ActionListener {
         }
     }
 
+    private void drawStats(Graphics2D g) {
+        java.util.List<String> lines = stats.summary();
+        g.setColor(new Color(0, 0, 0, 170));
+        g.fillRect(5, 50, 340, lines.size() * 14 + 8);
+
+        g.setColor(Color.WHITE);
+        g.setFont(new Font("Monospaced", Font.PLAIN, 11));
+        for (int i = 0; i < lines.size(); i++) {
+            g.drawString(lines.get(i), 10, 64 + i * 14);
+        }
+    }
+
     private void drawGameOver(Graphics2D g) {
         g.setColor(new Color(0, 0, 0, 200));
         g.fillRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT);
@@ -0,0 +1,466 @@
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Headless game state and rules; GamePanel is one view on top of it
+class GameWorld {
+    public static final int ROWS = 15; // Default maze size, and the size of the visible window
+    public static final int COLS = 20;
+    public static final int TICK_RATE = 60; // Simulation ticks per second
+    public static final long TICK_NANOS = 1_000_000_000L / TICK_RATE;
+    private static final long COUNTDOWN_NANOS = 1_000_000_000L; // 1 second for timer updates
+    // Player inputs, as queued from the UI and logged in replays
+    public static final int MOVE_LEFT = 0, MOVE_RIGHT = 1, MOVE_UP = 2, MOVE_DOWN = 3, RESTART = 4;
+    private static final int SWARM_THRESHOLD = 256; // Enemy count above which the array-based swarm is used
+    private static final int SWARM_LOOKS = 12;
+    private static final int PARALLEL_MIN_ENEMIES = 64; // Below this, parallel updates cost more than they save
+
+    private final Level level;
+    private PerformanceStats stats;
+    private boolean parallelUpdates = true;
+    private Replay recorder; // Logs inputs for deterministic playback, if set
+
+    // Game objects
+    private final Maze fixedMaze; // Used instead of a generated maze when set
+    private ChunkedMaze chunkedMaze; // Explore mode: maze is a window of this, moved with the player
+    private int windowLeft, windowTop; // Tile at the window's top-left corner
+    private Maze maze;
+    private FlowField flowField;
+    private SpatialGrid spatialGrid;
+    private Player player;
+    private List<Enemy> enemies;
+    private EnemySwarm swarm; // Used instead of enemies on swarm levels, otherwise null
+    // Latest, the renderer's current and next frame, and the one being written
+    private final WorldSnapshot[] snapshots = new WorldSnapshot[4];
+
+    // Game state
+    private long tick;
+    private int epoch; // Incremented by every reset, so snapshots never interpolate across one
+    private int timeRemaining;
+    private long countdownNanos;
+    private boolean gameOver = false;
+    private boolean levelComplete = false;
+
+    public GameWorld(Level level) {
+        this(level, null);
+    }
+
+    // Play the level's rules on a prebuilt maze, such as one loaded from a MazeFile
+    public GameWorld(Level level, Maze maze) {
+        this.level = level;
+        this.fixedMaze = maze;
+        reset();
+    }
+
+    // (Re)start the level from its initial state
+    public void reset() {
+        if (recorder != null) {
+            recorder.recordReset();
+        }
+        tick = 0;
+        epoch++;
+        timeRemaining = level.getTimeLimit();
+        countdownNanos = 0;
+
+        // Same seed every time, so restarts reuse the cached maze and its search structures
+        if (chunkedMaze == null) {
+            chunkedMaze = level.createWorld();
+        }
+        if (chunkedMaze != null) {
+            int start = ChunkedMaze.center(0);
+            useWindow(-(ExploreLevel.WINDOW_TILES / 2), -(ExploreLevel.WINDOW_TILES / 2));
+            player = new Player(start - windowLeft * ChunkedMaze.TILE_SIZE, start - windowTop * ChunkedMaze.TILE_SIZE);
+        } else {
+            useMaze(fixedMaze != null ? fixedMaze : MazeCache.shared().get(level, level.getMazeRows(), level.getMazeCols()));
+            player = new Player(maze.getStartX(), maze.getStartY());
+        }
+        spatialGrid = new SpatialGrid(maze.getRows(), maze.getCols());
+        enemies = new ArrayList<>();
+        swarm = null;
+
+        // Create enemies based on the level
+        int enemyCount = level.getEnemyCount();
+        double enemySpeed = level.getEnemySpeed();
+
+        if (enemyCount >= SWARM_THRESHOLD) {
+            createSwarm(enemyCount, enemySpeed);
+        } else if (enemyCount > 0) {
+            createEnemies(enemyCount, enemySpeed);
+        }
+
+        gameOver = false;
+        levelComplete = false;
+    }
+
+    private void useMaze(Maze next) {
+        if (next != maze) {
+            maze = next;
+            flowField = new FlowField(maze);
+        }
+    }
+
+    // Explore mode: play on the window of tiles with the given top-left tile
+    private void useWindow(int tileLeft, int tileTop) {
+        windowLeft = tileLeft;
+        windowTop = tileTop;
+        int start = ChunkedMaze.center(0);
+        int exit = ChunkedMaze.center(ExploreLevel.EXIT_TILE);
+        useMaze(chunkedMaze.window(tileLeft, tileTop, ExploreLevel.WINDOW_TILES, start, start, exit, exit));
+        chunkedMaze.retainAround(ChunkedMaze.center(tileLeft + ExploreLevel.WINDOW_TILES / 2),
+                ChunkedMaze.center(tileTop + ExploreLevel.WINDOW_TILES / 2), ExploreLevel.WINDOW_TILES / 2 + 1);
+    }
+
+    // Explore mode: once the player leaves the window's middle tile, move the window so
+    // that tile is centred again. Explore levels have no enemies, so only the player shifts.
+    private void recenterWindow() {
+        int tileX = Math.floorDiv(player.getX(), ChunkedMaze.TILE_SIZE) - ExploreLevel.WINDOW_TILES / 2;
+        int tileY = Math.floorDiv(player.getY(), ChunkedMaze.TILE_SIZE) - ExploreLevel.WINDOW_TILES / 2;
+        if (tileX == 0 && tileY == 0) {
+            return;
+        }
+        useWindow(windowLeft + tileX, windowTop + tileY);
+        player.setX(player.getX() - tileX * ChunkedMaze.TILE_SIZE);
+        player.setY(player.getY() - tileY * ChunkedMaze.TILE_SIZE);
+        spatialGrid = new SpatialGrid(maze.getRows(), maze.getCols());
+    }
+
+    // Cells connected to the start, away from the player and the outer ring, or the maze's
+    // own spawn points when some are connected; packed as y * cols + x. Enemies never start
+    // in a pocket of a loaded maze that they could not leave.
+    private int[] spawnCells() {
+        int cols = maze.getCols();
+        int rows = maze.getRows();
+        int[] spawns = maze.getSpawnPoints().clone();
+        int spawnCount = 0;
+        for (int cell : spawns) {
+            if (maze.isReachable(cell % cols, cell / cols)) {
+                spawns[spawnCount++] = cell;
+            }
+        }
+        if (spawnCount > 0) {
+            return Arrays.copyOf(spawns, spawnCount);
+        }
+        int[] cells = maze.getReachableCells();
+        int count = 0;
+        for (int cell : cells) {
+            int x = cell % cols;
+            int y = cell / cols;
+            if (x < 2 || y < 2 || x >= cols - 2 || y >= rows - 2 ||
+                    (Math.abs(x - player.getX()) < 5 && Math.abs(y - player.getY()) < 5)) {
+                continue;
+            }
+            cells[count++] = cell;
+        }
+        return Arrays.copyOf(cells, count);
+    }
+
+    private void createEnemies(int count, double speed) {
+        java.util.Random random = new java.util.Random(level.getNumber() * 2000);
+        int cols = maze.getCols();
+        int[] cells = spawnCells();
+        if (cells.length == 0) {
+            return;
+        }
+        int remaining = cells.length; // Untried cells sit in [0, remaining); a rejected cell never becomes valid
+
+        for (int i = 0; i < count; i++) {
+            int enemyX = 0, enemyY = 0;
+            boolean validPosition = false;
+
+            // Draw candidates without repeats, keeping enemies apart from each other
+            while (!validPosition && remaining > 0) {
+                int pick = random.nextInt(remaining);
+                int cell = cells[pick];
+                cells[pick] = cells[--remaining];
+                cells[remaining] = cell;
+
+                enemyX = cell % cols;
+                enemyY = cell / cols;
+                validPosition = spatialGrid.countNear(enemyX, enemyY, 2) == 0;
+            }
+
+            // Maze is too crowded to keep them apart; share cells instead
+            if (!validPosition) {
+                int cell = cells[random.nextInt(cells.length)];
+                enemyX = cell % cols;
+                enemyY = cell / cols;
+            }
+
+            Color enemyColor = new Color(
+                    200 + random.nextInt(55),  // More red
+                    random.nextInt(100),       // Less green
+                    random.nextInt(100)        // Less blue
+            );
+
+            Enemy enemy = new Enemy(enemyX, enemyY, speed, enemyColor, random.nextInt(3), random.nextLong());
+            enemies.add(enemy);
+            spatialGrid.add(enemy);
+        }
+    }
+
+    private void createSwarm(int count, double speed) {
+        java.util.Random random = new java.util.Random(level.getNumber() * 2000);
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+
+        // A small palette of looks shared by the whole swarm
+        Enemy[] looks = new Enemy[SWARM_LOOKS];
+        for (int i = 0; i < looks.length; i++) {
+            Color enemyColor = new Color(200 + random.nextInt(55), random.nextInt(100), random.nextInt(100));
+            looks[i] = new Enemy(0, 0, speed, enemyColor, i % 3, random.nextLong());
+        }
+        swarm = new EnemySwarm(rows, cols, looks, random.nextLong());
+
+        // Spread out over free cells away from the player, stacking up once the maze is full
+        int[] cells = spawnCells();
+        int attempts = 0;
+        while (swarm.size() < count && cells.length > 0) {
+            int cell = cells[random.nextInt(cells.length)];
+            int enemyX = cell % cols;
+            int enemyY = cell / cols;
+            attempts++;
+
+            if (swarm.countAt(enemyX, enemyY) > 0 && attempts < count * 4) {
+                continue;
+            }
+            swarm.add(enemyX, enemyY, speed, random.nextInt(looks.length));
+        }
+    }
+
+    // Advance the simulation by one fixed tick
+    public void step() {
+        if (isFinished()) {
+            return;
+        }
+        if (recorder != null) {
+            recorder.recordStep();
+        }
+        tick++;
+        double deltaMillis = TICK_NANOS / 1_000_000.0;
+
+        // Refresh the shared distance field if the player moved
+        flowField.update(player);
+
+        // Update enemies
+        long enemyStart = System.nanoTime();
+        updateEnemies(deltaMillis);
+        if (stats != null) {
+            stats.recordEnemyUpdate(System.nanoTime() - enemyStart);
+        }
+
+        // Check collisions
+        checkCollisions();
+
+        // Countdown timer
+        countdownNanos += TICK_NANOS;
+        if (countdownNanos >= COUNTDOWN_NANOS) {
+            countdownNanos -= COUNTDOWN_NANOS;
+            if (timeRemaining > 0) {
+                timeRemaining--;
+            } else {
+                gameOver = true;
+            }
+        }
+    }
+
+    private void updateEnemies(double deltaMillis) {
+        boolean parallel = parallelUpdates && getEnemyCount() >= PARALLEL_MIN_ENEMIES;
+
+        if (swarm != null) {
+            if (parallel) {
+                swarm.updateAllParallel(player, maze, flowField, deltaMillis);
+            } else {
+                swarm.updateAll(player, maze, flowField, deltaMillis);
+            }
+        } else if (parallel) {
+            Pathfinder pathfinder = maze.getPathfinder();
+            // Decide in parallel, then apply moves in list order
+            enemies.parallelStream().forEach(enemy -> enemy.decide(player, maze, flowField, pathfinder, deltaMillis));
+            for (Enemy enemy : enemies) {
+                enemy.commit();
+            }
+        } else {
+            Pathfinder pathfinder = maze.getPathfinder();
+            for (Enemy enemy : enemies) {
+                enemy.update(player, maze, flowField, pathfinder, deltaMillis);
+            }
+        }
+    }
+
+    public void movePlayer(int dx, int dy) {
+        if (!isFinished()) {
+            if (recorder != null) {
+                recorder.recordMove(dx, dy);
+            }
+            player.move(dx, dy, maze);
+            if (chunkedMaze != null) {
+                recenterWindow();
+            }
+        }
+    }
+
+    public void applyInput(int input) {
+        switch (input) {
+            case MOVE_LEFT: movePlayer(-1, 0); break;
+            case MOVE_RIGHT: movePlayer(1, 0); break;
+            case MOVE_UP: movePlayer(0, -1); break;
+            case MOVE_DOWN: movePlayer(0, 1); break;
+            case RESTART: reset(); break;
+        }
+    }
+
+    // Fingerprint of the simulation state, used to check that a replay reproduced a session
+    public long stateHash() {
+        long hash = 17;
+        hash = hash * 31 + tick;
+        hash = hash * 31 + timeRemaining;
+        hash = hash * 31 + (gameOver ? 1 : 0) + (levelComplete ? 2 : 0);
+        hash = hash * 31 + player.getX();
+        hash = hash * 31 + player.getY();
+        if (swarm != null) {
+            for (int i = 0; i < swarm.size(); i++) {
+                hash = hash * 31 + swarm.getX(i);
+                hash = hash * 31 + swarm.getY(i);
+            }
+        } else {
+            for (Enemy enemy : enemies) {
+                hash = hash * 31 + enemy.getX();
+                hash = hash * 31 + enemy.getY();
+            }
+        }
+        return hash;
+    }
+
+    private void checkCollisions() {
+        // Check if player reached the exit
+        if (player.getX() == maze.getExitX() && player.getY() == maze.getExitY()) {
+            levelComplete = true;
+        }
+
+        // Check if player touched any enemy
+        if (countEnemiesAt(player.getX(), player.getY()) > 0) {
+            gameOver = true;
+        }
+    }
+
+    // Enemies standing on a cell, for either representation
+    public int countEnemiesAt(int x, int y) {
+        return swarm != null ? swarm.countAt(x, y) : spatialGrid.countAt(x, y);
+    }
+
+    // Sprites are the renderer's atlases for getEnemyLooks(), passed through to the snapshot.
+    // Rewrites a pooled snapshot no reader holds, so steady play allocates nothing here.
+    public WorldSnapshot capture(WorldSnapshot previous, EnemySpriteCache sprites) {
+        WorldSnapshot next = claimSnapshot(previous);
+        int count = getEnemyCount();
+        next.begin(previous, epoch, maze, player, sprites, count, timeRemaining, gameOver, levelComplete);
+
+        if (swarm != null) {
+            for (int i = 0; i < count; i++) {
+                next.enemyLook[i] = swarm.getLookIndex(i);
+                next.enemyX[i] = swarm.getX(i);
+                next.enemyY[i] = swarm.getY(i);
+                next.enemyAnimation[i] = swarm.getAnimation(i);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                Enemy enemy = enemies.get(i);
+                next.enemyLook[i] = i; // Each enemy is its own look
+                next.enemyX[i] = enemy.getX();
+                next.enemyY[i] = enemy.getY();
+                next.enemyAnimation[i] = enemy.getAnimationCounter();
+            }
+        }
+        next.publish();
+        return next;
+    }
+
+    // A pooled snapshot other than the latest one that no reader has pinned; a new one if
+    // readers are holding on to all of them
+    private WorldSnapshot claimSnapshot(WorldSnapshot latest) {
+        for (int i = 0; i < snapshots.length; i++) {
+            if (snapshots[i] == null) {
+                snapshots[i] = new WorldSnapshot();
+                return snapshots[i];
+            }
+            if (snapshots[i] != latest && snapshots[i].claim()) {
+                return snapshots[i];
+            }
+        }
+        return new WorldSnapshot();
+    }
+
+    // Optional timing instrumentation, null when not measuring
+    public void setStats(PerformanceStats stats) {
+        this.stats = stats;
+    }
+
+    public void setRecorder(Replay recorder) {
+        this.recorder = recorder;
+    }
+
+    // Parallel and sequential updates give identical results; this only trades threads for latency
+    public void setParallelUpdates(boolean parallelUpdates) {
+        this.parallelUpdates = parallelUpdates;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public Maze getMaze() {
+        return maze;
+    }
+
+    // Shared and thread-safe; lives as long as the maze does
+    public Pathfinder getPathfinder() {
+        return maze.getPathfinder();
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public SpatialGrid getSpatialGrid() {
+        return spatialGrid;
+    }
+
+    // Individually simulated enemies (empty on swarm levels)
+    public List<Enemy> getEnemies() {
+        return enemies;
+    }
+
+    public EnemySwarm getSwarm() {
+        return swarm;
+    }
+
+    public int getEnemyCount() {
+        return swarm != null ? swarm.size() : enemies.size();
+    }
+
+    // Every distinct enemy appearance that needs sprites
+    public List<Enemy> getEnemyLooks() {
+        return swarm != null ? java.util.Arrays.asList(swarm.getLooks()) : enemies;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getTimeRemaining() {
+        return timeRemaining;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public boolean isLevelComplete() {
+        return levelComplete;
+    }
+
+    public boolean isFinished() {
+        return gameOver || levelComplete;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,385 @@
+import java.util.Arrays;
+
+// HPA*: splits the maze into square clusters, links them through entrance cells on
+// their shared borders and precomputes walking distances inside each cluster. Long
+// queries search that small abstract graph, then refine each hop with a local BFS.
+// Routes are near-shortest rather than exact. Safe to share between threads.
+class HierarchicalPathfinder {
+    static final int CLUSTER_SIZE = 16;
+    private static final int MAX_SINGLE_ENTRANCE = 6; // Longer border openings get an entrance at each end
+    private static final int TIE_BREAK = 256;
+
+    private final Maze maze;
+    private final int rows, cols;
+    private final int clusterRows, clusterCols;
+
+    // Abstract graph in compressed rows: node -> cell, cluster -> nodes, node -> edges
+    private int[] nodeCell;
+    private int[] clusterStart, clusterNodes;
+    private int[] edgeStart, edgeTarget, edgeCost;
+    private int nodeCount;
+
+    private final ThreadLocal<Search> searches;
+
+    public HierarchicalPathfinder(Maze maze) {
+        this.maze = maze;
+        this.rows = maze.getRows();
+        this.cols = maze.getCols();
+        this.clusterRows = (rows + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+        this.clusterCols = (cols + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+        build();
+        this.searches = ThreadLocal.withInitial(() -> new Search(nodeCount + 2));
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    // Cells from the first step to the goal, an empty array if already there, or null if unreachable
+    public int[] findPath(int startX, int startY, int goalX, int goalY) {
+        if (maze.isWall(startX, startY) || maze.isWall(goalX, goalY)) {
+            return null;
+        }
+        Search s = searches.get();
+        s.begin();
+
+        int start = startY * cols + startX;
+        int goal = goalY * cols + goalX;
+        int startNode = nodeCount;
+        int goalNode = nodeCount + 1;
+        int startCluster = clusterOf(start);
+        int goalCluster = clusterOf(goal);
+
+        // Connect the goal to the entrances of its cluster
+        localSearch(s, goalCluster, goal);
+        for (int i = clusterStart[goalCluster]; i < clusterStart[goalCluster + 1]; i++) {
+            int node = clusterNodes[i];
+            int distance = localDistance(s, goalCluster, nodeCell[node]);
+            if (distance >= 0) {
+                s.goalSeen[node] = s.generation;
+                s.goalCost[node] = distance;
+            }
+        }
+
+        // Seed the open list from the start's cluster, including a direct local route
+        relax(s, startNode, -1, 0, start, goal);
+        s.closed[startNode] = s.generation;
+        localSearch(s, startCluster, start);
+        for (int i = clusterStart[startCluster]; i < clusterStart[startCluster + 1]; i++) {
+            int node = clusterNodes[i];
+            int distance = localDistance(s, startCluster, nodeCell[node]);
+            if (distance >= 0) {
+                relax(s, node, startNode, distance, nodeCell[node], goal);
+            }
+        }
+        if (startCluster == goalCluster) {
+            int distance = localDistance(s, startCluster, goal);
+            if (distance >= 0) {
+                relax(s, goalNode, startNode, distance, goal, goal);
+            }
+        }
+
+        while (!s.open.isEmpty()) {
+            int node = s.open.poll();
+            if (s.closed[node] == s.generation) {
+                continue;
+            }
+            s.closed[node] = s.generation;
+            if (node == goalNode) {
+                return refine(s, start, goal);
+            }
+
+            for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+                int next = edgeTarget[e];
+                if (s.closed[next] != s.generation) {
+                    relax(s, next, node, s.cost[node] + edgeCost[e], nodeCell[next], goal);
+                }
+            }
+            if (s.goalSeen[node] == s.generation) {
+                relax(s, goalNode, node, s.cost[node] + s.goalCost[node], goal, goal);
+            }
+        }
+        return null;
+    }
+
+    private void relax(Search s, int node, int parent, int cost, int cell, int goal) {
+        if (s.seen[node] == s.generation && s.cost[node] <= cost) {
+            return;
+        }
+        s.seen[node] = s.generation;
+        s.cost[node] = cost;
+        s.parent[node] = parent;
+        int heuristic = Math.abs(cell % cols - goal % cols) + Math.abs(cell / cols - goal / cols);
+        // Among equal estimates prefer nodes nearer the goal, which keeps open corridors from flooding
+        s.open.add(node, (cost + heuristic) * TIE_BREAK + Math.min(heuristic, TIE_BREAK - 1));
+    }
+
+    // Turn the chain of abstract nodes back into a cell-by-cell route
+    private int[] refine(Search s, int start, int goal) {
+        int startNode = nodeCount;
+        int goalNode = nodeCount + 1;
+
+        int waypointCount = 0;
+        for (int node = goalNode; node >= 0; node = s.parent[node]) {
+            waypointCount++;
+        }
+        int[] waypoints = new int[waypointCount];
+        for (int node = goalNode, i = waypointCount - 1; node >= 0; node = s.parent[node], i--) {
+            waypoints[i] = node == goalNode ? goal : node == startNode ? start : nodeCell[node];
+        }
+
+        int[] path = new int[s.cost[goalNode]];
+        int length = 0;
+        for (int i = 1; i < waypoints.length; i++) {
+            int from = waypoints[i - 1];
+            int to = waypoints[i];
+            if (from == to) {
+                continue;
+            }
+            int cluster = clusterOf(from);
+            if (cluster != clusterOf(to)) {
+                path[length++] = to; // Entrance pairs sit side by side across the border
+                continue;
+            }
+            localSearch(s, cluster, from);
+            int hop = localDistance(s, cluster, to);
+            int left = (cluster % clusterCols) * CLUSTER_SIZE;
+            int top = (cluster / clusterCols) * CLUSTER_SIZE;
+            int index = localIndex(cluster, to);
+            for (int j = length + hop - 1; j >= length; j--) {
+                path[j] = (top + index / CLUSTER_SIZE) * cols + left + index % CLUSTER_SIZE;
+                index = s.localParent[index];
+            }
+            length += hop;
+        }
+        return path;
+    }
+
+    // BFS from one cell, confined to its cluster
+    private void localSearch(Search s, int cluster, int from) {
+        if (++s.localGeneration == Integer.MAX_VALUE) {
+            Arrays.fill(s.localSeen, 0);
+            s.localGeneration = 1;
+        }
+        int left = (cluster % clusterCols) * CLUSTER_SIZE;
+        int top = (cluster / clusterCols) * CLUSTER_SIZE;
+        int right = Math.min(left + CLUSTER_SIZE, cols);
+        int bottom = Math.min(top + CLUSTER_SIZE, rows);
+
+        int width = right - left;
+        int height = bottom - top;
+
+        int head = 0, tail = 0;
+        int fromIndex = localIndex(cluster, from);
+        s.localSeen[fromIndex] = s.localGeneration;
+        s.localDistance[fromIndex] = 0;
+        s.localParent[fromIndex] = -1;
+        s.localQueue[tail++] = fromIndex;
+
+        while (head < tail) {
+            int index = s.localQueue[head++];
+            int lx = index % CLUSTER_SIZE;
+            int ly = index / CLUSTER_SIZE;
+            int distance = s.localDistance[index] + 1;
+            for (int direction = 0; direction < 4; direction++) {
+                int nx = lx + DX[direction];
+                int ny = ly + DY[direction];
+                if (nx < 0 || nx >= width || ny < 0 || ny >= height || maze.isWall(left + nx, top + ny)) {
+                    continue;
+                }
+                int next = ny * CLUSTER_SIZE + nx;
+                if (s.localSeen[next] != s.localGeneration) {
+                    s.localSeen[next] = s.localGeneration;
+                    s.localDistance[next] = distance;
+                    s.localParent[next] = index;
+                    s.localQueue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    // Distance found by the last localSearch, or -1 if that cell wasn't reached
+    private int localDistance(Search s, int cluster, int cell) {
+        int index = localIndex(cluster, cell);
+        return s.localSeen[index] == s.localGeneration ? s.localDistance[index] : -1;
+    }
+
+    private int localIndex(int cluster, int cell) {
+        int left = (cluster % clusterCols) * CLUSTER_SIZE;
+        int top = (cluster / clusterCols) * CLUSTER_SIZE;
+        return (cell / cols - top) * CLUSTER_SIZE + (cell % cols - left);
+    }
+
+    private int clusterOf(int cell) {
+        return (cell / cols / CLUSTER_SIZE) * clusterCols + (cell % cols / CLUSTER_SIZE);
+    }
+
+    private static final int[] DX = {-1, 1, 0, 0};
+    private static final int[] DY = {0, 0, -1, 1};
+
+    // Precompute entrances and intra-cluster distances; runs once per maze
+    private void build() {
+        IntList cells = new IntList();
+        IntList from = new IntList();
+        IntList to = new IntList();
+        IntList cost = new IntList();
+        IntList[] perCluster = new IntList[clusterRows * clusterCols];
+        for (int i = 0; i < perCluster.length; i++) {
+            perCluster[i] = new IntList();
+        }
+
+        // Openings along each cluster's right and bottom border
+        for (int c = 0; c < perCluster.length; c++) {
+            int left = (c % clusterCols) * CLUSTER_SIZE;
+            int top = (c / clusterCols) * CLUSTER_SIZE;
+            int right = Math.min(left + CLUSTER_SIZE, cols);
+            int bottom = Math.min(top + CLUSTER_SIZE, rows);
+            if (right < cols) {
+                scanBorder(right - 1, top, 0, 1, bottom - top, cells, perCluster, from, to, cost);
+            }
+            if (bottom < rows) {
+                scanBorder(left, bottom - 1, 1, 0, right - left, cells, perCluster, from, to, cost);
+            }
+        }
+
+        nodeCount = cells.size;
+        nodeCell = Arrays.copyOf(cells.values, nodeCount);
+
+        clusterStart = new int[perCluster.length + 1];
+        for (int c = 0; c < perCluster.length; c++) {
+            clusterStart[c + 1] = clusterStart[c] + perCluster[c].size;
+        }
+        clusterNodes = new int[clusterStart[perCluster.length]];
+        for (int c = 0; c < perCluster.length; c++) {
+            System.arraycopy(perCluster[c].values, 0, clusterNodes, clusterStart[c], perCluster[c].size);
+        }
+
+        // Walking distance between every pair of entrances that share a cluster
+        Search s = new Search(0);
+        for (int c = 0; c < perCluster.length; c++) {
+            for (int i = clusterStart[c]; i < clusterStart[c + 1]; i++) {
+                int node = clusterNodes[i];
+                localSearch(s, c, nodeCell[node]);
+                for (int j = clusterStart[c]; j < clusterStart[c + 1]; j++) {
+                    int other = clusterNodes[j];
+                    int distance = localDistance(s, c, nodeCell[other]);
+                    if (other != node && distance > 0) {
+                        from.add(node);
+                        to.add(other);
+                        cost.add(distance);
+                    }
+                }
+            }
+        }
+
+        edgeStart = new int[nodeCount + 1];
+        for (int e = 0; e < from.size; e++) {
+            edgeStart[from.values[e] + 1]++;
+        }
+        for (int n = 0; n < nodeCount; n++) {
+            edgeStart[n + 1] += edgeStart[n];
+        }
+        int[] fill = Arrays.copyOf(edgeStart, nodeCount);
+        edgeTarget = new int[from.size];
+        edgeCost = new int[from.size];
+        for (int e = 0; e < from.size; e++) {
+            int slot = fill[from.values[e]]++;
+            edgeTarget[slot] = to.values[e];
+            edgeCost[slot] = cost.values[e];
+        }
+    }
+
+    // Find runs of cells open on both sides of the border and place entrances on them
+    private void scanBorder(int x, int y, int stepX, int stepY, int length, IntList cells,
+                            IntList[] perCluster, IntList from, IntList to, IntList cost) {
+        int acrossX = stepY, acrossY = stepX; // Perpendicular to the border
+        int run = 0;
+        for (int i = 0; i <= length; i++) {
+            int cellX = x + stepX * i;
+            int cellY = y + stepY * i;
+            if (i < length && !maze.isWall(cellX, cellY) && !maze.isWall(cellX + acrossX, cellY + acrossY)) {
+                run++;
+                continue;
+            }
+            if (run > 0) {
+                // One entrance pair in the middle of a short opening, or one at each end of a long one
+                int first = i - run;
+                int[] offsets = run <= MAX_SINGLE_ENTRANCE ? new int[] {first + run / 2} : new int[] {first, i - 1};
+                for (int offset : offsets) {
+                    int inside = (y + stepY * offset) * cols + (x + stepX * offset);
+                    int a = nodeFor(inside, cells, perCluster);
+                    int b = nodeFor(inside + acrossY * cols + acrossX, cells, perCluster);
+                    from.add(a);
+                    to.add(b);
+                    cost.add(1);
+                    from.add(b);
+                    to.add(a);
+                    cost.add(1);
+                }
+                run = 0;
+            }
+        }
+    }
+
+    private int nodeFor(int cell, IntList cells, IntList[] perCluster) {
+        IntList nodes = perCluster[clusterOf(cell)];
+        for (int i = 0; i < nodes.size; i++) {
+            if (cells.values[nodes.values[i]] == cell) {
+                return nodes.values[i];
+            }
+        }
+        int node = cells.size;
+        cells.add(cell);
+        nodes.add(node);
+        return node;
+    }
+
+    private static class IntList {
+        int[] values = new int[8];
+        int size = 0;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    // Per-thread search state; generation stamps avoid clearing between queries
+    private static class Search {
+        final int[] cost;
+        final int[] parent;
+        final int[] seen;
+        final int[] closed;
+        final int[] goalSeen;
+        final int[] goalCost;
+        final IntMinHeap open = new IntMinHeap();
+        int generation = 0;
+
+        final int[] localDistance = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+        final int[] localParent = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+        final int[] localSeen = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+        final int[] localQueue = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+        int localGeneration = 0;
+
+        Search(int nodes) {
+            cost = new int[nodes];
+            parent = new int[nodes];
+            seen = new int[nodes];
+            closed = new int[nodes];
+            goalSeen = new int[nodes];
+            goalCost = new int[nodes];
+        }
+
+        void begin() {
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(seen, 0);
+                Arrays.fill(closed, 0);
+                Arrays.fill(goalSeen, 0);
+                generation = 1;
+            }
+            open.clear();
+        }
+    }
+}
\ No newline at end of file
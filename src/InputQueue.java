@@ -0,0 +1,54 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded single-producer/single-consumer ring buffer of int events. One thread offers,
+// another polls, and neither ever locks or blocks. Each side only writes its own counter
+// and publishes it with release ordering, so the other side sees complete events in order.
+class InputQueue {
+    public static final int EMPTY = -1;
+
+    private final int[] events;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // Next slot to read, advanced by the consumer
+    private final AtomicLong tail = new AtomicLong(); // Next slot to write, advanced by the producer
+    private long knownHead; // Producer's last view of head, refreshed only when the buffer looks full
+    private long knownTail; // Consumer's last view of tail, refreshed only when the buffer looks empty
+
+    // Capacity is rounded up to a power of two
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.events = new int[size];
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return events.length;
+    }
+
+    // Producer thread only; returns false and drops the event when the buffer is full
+    public boolean offer(int event) {
+        long t = tail.getPlain();
+        if (t - knownHead >= events.length) {
+            knownHead = head.getAcquire();
+            if (t - knownHead >= events.length) {
+                return false;
+            }
+        }
+        events[(int) t & mask] = event;
+        tail.setRelease(t + 1);
+        return true;
+    }
+
+    // Consumer thread only; returns EMPTY when there is nothing to read
+    public int poll() {
+        long h = head.getPlain();
+        if (h >= knownTail) {
+            knownTail = tail.getAcquire();
+            if (h >= knownTail) {
+                return EMPTY;
+            }
+        }
+        int event = events[(int) h & mask];
+        head.setRelease(h + 1);
+        return event;
+    }
+}
\ No newline at end of file
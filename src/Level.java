@@ -39,10 +39,30 @@ abstract class Level {
     // Abstract methods that derived classes must implement (polymorphism)
     public abstract int getEnemyCount();
     public abstract double getEnemySpeed();
+    public abstract int getPathDensity();
     public abstract Color getBackgroundColor();
     public abstract void generateMaze(Maze maze);
     public abstract String getDifficultyDescription();
 
+    // Maze size in cells; larger than the window scrolls with the player
+    public int getMazeRows() {
+        return GameWorld.ROWS;
+    }
+
+    public int getMazeCols() {
+        return GameWorld.COLS;
+    }
+
+    // Consistent maze generation per level
+    public long getMazeSeed() {
+        return number * 1000L;
+    }
+
+    // Unbounded tile-streamed maze for explore mode, or null to play one fixed-size maze
+    public ChunkedMaze createWorld() {
+        return null;
+    }
+
     // Template method - same for all levels but uses polymorphic methods
     protected int calculateTimeLimit() {
         return 60 - (number * 3);
@@ -70,9 +90,14 @@ class BeginnerLevel extends Level {
         return new Color(200, 230, 255); // Light blue
     }
 
+    @Override
+    public int getPathDensity() {
+        return 40 + (getNumber() * 2);
+    }
+
     @Override
     public void generateMaze(Maze maze) {
-        maze.setPathDensity(40 + (getNumber() * 2));
+        maze.setPathDensity(getPathDensity());
         maze.generate();
     }
 
@@ -105,9 +130,14 @@ class IntermediateLevel extends Level {
         return new Color(255, 240, 200); // Light orange
     }
 
+    @Override
+    public int getPathDensity() {
+        return 35 + (getNumber() * 3);
+    }
+
     @Override
     public void generateMaze(Maze maze) {
-        maze.setPathDensity(35 + (getNumber() * 3));
+        maze.setPathDensity(getPathDensity());
         maze.generate();
     }
 
@@ -139,9 +169,14 @@ class AdvancedLevel extends Level {
         return new Color(255, 200, 200); // Light red
     }
 
+    @Override
+    public int getPathDensity() {
+        return 30 + (getNumber() * 4);
+    }
+
     @Override
     public void generateMaze(Maze maze) {
-        maze.setPathDensity(30 + (getNumber() * 4));
+        maze.setPathDensity(getPathDensity());
         maze.generate();
     }
 
@@ -149,4 +184,140 @@ class AdvancedLevel extends Level {
     public String getDifficultyDescription() {
         return "Hard - For maze masters only!";
     }
-}
\ No newline at end of file
+}
+
+// Procedural levels past the fixed ones, generated from the level number alone. Mazes grow
+// with the square root of the distance past the last fixed level, enemy count follows the
+// maze area, and speed levels off so that very deep levels stay playable.
+class EndlessLevel extends Level {
+    static final int FIRST_NUMBER = 11;
+    private static final int MAX_GROWTH = 60; // Caps the maze at 135 x 200 cells
+    private static final double BASE_SPEED = 3.2, MAX_EXTRA_SPEED = 0.8;
+
+    public EndlessLevel(int number) {
+        super(number, "Endless", "Procedural maze that grows with every level");
+    }
+
+    // Steps past the last fixed level: 1, 2, 3, ...
+    private int depth() {
+        return getNumber() - FIRST_NUMBER + 1;
+    }
+
+    private int growth() {
+        return Math.min((int) Math.sqrt(depth()), MAX_GROWTH);
+    }
+
+    @Override
+    public int getMazeRows() {
+        return GameWorld.ROWS + 2 * growth();
+    }
+
+    @Override
+    public int getMazeCols() {
+        return GameWorld.COLS + 3 * growth();
+    }
+
+    @Override
+    public int getEnemyCount() {
+        return Math.min(11 + depth() / 2, getMazeRows() * getMazeCols() / 25);
+    }
+
+    @Override
+    public double getEnemySpeed() {
+        return BASE_SPEED + MAX_EXTRA_SPEED * depth() / (depth() + 20.0);
+    }
+
+    @Override
+    public Color getBackgroundColor() {
+        return Color.getHSBColor(getNumber() * 0.13f % 1f, 0.2f, 1f);
+    }
+
+    @Override
+    public int getPathDensity() {
+        return 45 + Math.floorMod(getNumber() * 7, 21);
+    }
+
+    @Override
+    public void generateMaze(Maze maze) {
+        maze.setPathDensity(getPathDensity());
+        maze.generate();
+    }
+
+    @Override
+    public String getDifficultyDescription() {
+        return "Endless - How far can you go?";
+    }
+
+    // Enough time to cross the maze at a steady pace; called from the Level constructor
+    @Override
+    protected int calculateTimeLimit() {
+        return Math.max(20, (getMazeRows() + getMazeCols()) / 2);
+    }
+}
+
+// Explore mode: an unbounded maze streamed in tiles around the player. The exit is a long
+// walk away and there are no enemies; the game plays on a window of tiles that follows
+// the player, so memory stays bounded by the window and not by how far they go.
+class ExploreLevel extends Level {
+    static final int NUMBER = 0;
+    static final int WINDOW_TILES = 3; // Tiles per side of the window the game plays on
+    static final int EXIT_TILE = 6;    // The exit sits in tile (EXIT_TILE, EXIT_TILE), the start in (0, 0)
+    private static final int MAX_TILES = 32; // Tiles kept in memory, a few more than the window
+
+    public ExploreLevel() {
+        super(NUMBER, "Explore", "Endless maze streamed in tiles around you");
+    }
+
+    @Override
+    public int getMazeRows() {
+        return WINDOW_TILES * ChunkedMaze.TILE_SIZE;
+    }
+
+    @Override
+    public int getMazeCols() {
+        return WINDOW_TILES * ChunkedMaze.TILE_SIZE;
+    }
+
+    @Override
+    public int getEnemyCount() {
+        return 0;
+    }
+
+    @Override
+    public double getEnemySpeed() {
+        return 0;
+    }
+
+    @Override
+    public Color getBackgroundColor() {
+        return new Color(235, 225, 200); // Parchment
+    }
+
+    @Override
+    public int getPathDensity() {
+        return 55;
+    }
+
+    @Override
+    public ChunkedMaze createWorld() {
+        return new ChunkedMaze(getMazeSeed(), getPathDensity(), MAX_TILES);
+    }
+
+    @Override
+    public void generateMaze(Maze maze) {
+        maze.setPathDensity(getPathDensity());
+        maze.generate();
+    }
+
+    @Override
+    public String getDifficultyDescription() {
+        return "Explore - Find the far-away exit";
+    }
+
+    // A second per cell of the straight walk to the exit, which the maze's turns eat into;
+    // called from the Level constructor
+    @Override
+    protected int calculateTimeLimit() {
+        return 2 * EXIT_TILE * ChunkedMaze.TILE_SIZE;
+    }
+}
@@ -1,11 +1,21 @@
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 // LevelManager class to create and manage all levels
 class LevelManager {
+    // Endless levels are created on demand and kept in a direct-mapped window, so lookups
+    // never copy lists and memory stays bounded however deep a player goes
+    private static final int ENDLESS_WINDOW = 64; // Power of two
+
     private List<Level> beginnerLevels;
     private List<Level> intermediateLevels;
     private List<Level> advancedLevels;
+    private Level[] fixedLevels; // By number - 1
+    private final Level exploreLevel = new ExploreLevel();
+    private final AtomicReferenceArray<Level> endlessLevels = new AtomicReferenceArray<>(ENDLESS_WINDOW);
 
     public LevelManager() {
         beginnerLevels = new ArrayList<>();
@@ -31,6 +41,12 @@ class LevelManager {
         for (int i = 8; i <= 10; i++) {
             advancedLevels.add(new AdvancedLevel(i));
         }
+
+        List<Level> allLevels = new ArrayList<>();
+        allLevels.addAll(beginnerLevels);
+        allLevels.addAll(intermediateLevels);
+        allLevels.addAll(advancedLevels);
+        fixedLevels = allLevels.toArray(new Level[0]);
     }
 
     public List<Level> getBeginnerLevels() {
@@ -45,18 +61,33 @@ class LevelManager {
         return advancedLevels;
     }
 
+    // The fixed levels only; endless levels are reached by number
     public List<Level> getAllLevels() {
-        List<Level> allLevels = new ArrayList<>();
-        allLevels.addAll(beginnerLevels);
-        allLevels.addAll(intermediateLevels);
-        allLevels.addAll(advancedLevels);
-        return allLevels;
+        return Collections.unmodifiableList(Arrays.asList(fixedLevels));
+    }
+
+    public Level getExploreLevel() {
+        return exploreLevel;
     }
 
+    // Any level from 1 up, or explore mode, without allocating unless an endless level has to be created
     public Level getLevelByNumber(int number) {
-        if (number >= 1 && number <= 10) {
-            return getAllLevels().get(number - 1);
+        if (number == ExploreLevel.NUMBER) {
+            return exploreLevel;
+        }
+        if (number < 1) {
+            return null;
+        }
+        if (number <= fixedLevels.length) {
+            return fixedLevels[number - 1];
+        }
+
+        int slot = number & (ENDLESS_WINDOW - 1);
+        Level level = endlessLevels.get(slot);
+        if (level == null || level.getNumber() != number) {
+            level = new EndlessLevel(number); // Racing threads build equal levels; either may stay
+            endlessLevels.set(slot, level);
         }
-        return null;
+        return level;
     }
 }
\ No newline at end of file
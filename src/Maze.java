@@ -1,19 +1,105 @@
 import java.awt.*;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.LongBuffer;
+import java.util.Arrays;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 // Maze class
 class Maze {
+    private static final int PARALLEL_THRESHOLD = 1 << 20; // Cells above which generate() runs in parallel
+    private static final int BLOCK_WORDS = 1024; // Words per parallel block (65536 cells)
+    private static final int TILE = 256; // Side of the tiles connectRegions() joins on their own
+
     private int rows, cols;
-    private int[][] grid;
+    // One bit per cell, row-major (1 = wall, 0 = path); a heap array, or a mapped MazeFile
+    private LongBuffer cells;
+    private long[] words; // The heap array behind cells, or null while cells is a mapping
+    private int startX, startY, exitX, exitY;
+    private int[] spawnPoints = new int[0]; // Fixed enemy spawns (y * cols + x), if any
     private int pathDensity;
+    private long seed;
     private Random random;
+    private int carvedCells;    // Walls removed to join separate regions
+    private long[] reachable;   // Open cells joined to the start, one bit each; labelled on first use
+    private int componentCount; // Open regions in the whole maze, counted with reachable
+    private Pathfinder pathfinder; // Shared by every world and thread on this maze, built on first use
 
     public Maze(int rows, int cols) {
         this.rows = rows;
         this.cols = cols;
-        this.grid = new int[rows][cols];
+        this.words = new long[(int) (((long) cellCount(rows, cols) + 63) >>> 6)];
+        this.cells = LongBuffer.wrap(words);
         this.pathDensity = 50; // Default path density
-        this.random = new Random();
+        this.seed = new Random().nextLong();
+        this.random = new Random(seed);
+        this.startX = 1;
+        this.startY = 1;
+        this.exitX = cols - 2;
+        this.exitY = rows - 2;
+    }
+
+    // A maze over existing cell words, such as a MazeFile mapped into memory or a
+    // window of a ChunkedMaze
+    Maze(int rows, int cols, LongBuffer cells, int startX, int startY, int exitX, int exitY, int[] spawnPoints) {
+        cellCount(rows, cols); // Rejects sizes whose cell indexes would overflow
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = cells;
+        this.words = cells.hasArray() && cells.arrayOffset() == 0 ? cells.array() : null;
+        this.pathDensity = 50;
+        this.seed = new Random().nextLong();
+        this.random = new Random(seed);
+        this.startX = startX;
+        this.startY = startY;
+        this.exitX = exitX;
+        this.exitY = exitY;
+        this.spawnPoints = spawnPoints;
+    }
+
+    // Cell indexes (y * cols + x) are ints, so larger mazes would silently wrap to the wrong cell
+    private static int cellCount(int rows, int cols) {
+        try {
+            return Math.multiplyExact(rows, cols);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Maze too large: " + rows + " x " + cols + " cells");
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getStartX() {
+        return startX;
+    }
+
+    public int getStartY() {
+        return startY;
+    }
+
+    public int getExitX() {
+        return exitX;
+    }
+
+    public int getExitY() {
+        return exitY;
+    }
+
+    public int[] getSpawnPoints() {
+        return spawnPoints;
+    }
+
+    // Raw cell words for MazeFile; bit (index & 63) of word (index >>> 6) is set for walls
+    LongBuffer getCellWords() {
+        return cells.duplicate();
     }
 
     public void setPathDensity(int pathDensity) {
@@ -21,21 +107,26 @@ class Maze {
     }
 
     public void setSeed(long seed) {
+        this.seed = seed;
         this.random = new Random(seed);
     }
 
     public void generate() {
-        // Initialize all walls
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                grid[i][j] = 1; // 1 = wall
-            }
+        if ((long) rows * cols >= PARALLEL_THRESHOLD) {
+            generateParallel();
+            return;
         }
+        ensureWritable();
+        reachable = null;
+        pathfinder = null;
+
+        // Initialize all walls
+        Arrays.fill(words, -1L);
 
         // Create basic maze structure
         for (int i = 1; i < rows - 1; i += 2) {
             for (int j = 1; j < cols - 1; j += 2) {
-                grid[i][j] = 0; // 0 = path
+                setPath(j, i);
             }
         }
 
@@ -43,57 +134,550 @@ class Maze {
         for (int i = 1; i < rows - 1; i++) {
             for (int j = 1; j < cols - 1; j++) {
                 if (random.nextInt(100) < pathDensity) {
-                    grid[i][j] = 0;
+                    setPath(j, i);
                 }
             }
         }
 
         // Ensure start and end are clear
-        grid[1][1] = 0; // Start
-        grid[rows - 2][cols - 2] = 0; // End
+        setPath(startX, startY); // Start
+        setPath(exitX, exitY); // End
+
+        // Make sure every open cell, including the exit, is reachable from the start
+        connectRegions();
+    }
+
+    // Same structure as generate(), but blocks of cells are filled on the fork-join pool.
+    // Each block draws from its own generator derived from the seed, so the result
+    // is deterministic for a given setSeed value regardless of the number of cores.
+    public void generateParallel() {
+        ensureWritable();
+        reachable = null;
+        pathfinder = null;
+        ForkJoinPool.commonPool().invoke(new FillTask(0, words.length));
+
+        // Ensure start and end are clear
+        setPath(startX, startY); // Start
+        setPath(exitX, exitY); // End
+
+        // Join regions split by block boundaries and random walls
+        connectRegions();
+    }
+
+    private class FillTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int fromWord, toWord;
+
+        FillTask(int fromWord, int toWord) {
+            this.fromWord = fromWord;
+            this.toWord = toWord;
+        }
+
+        @Override
+        protected void compute() {
+            int blocks = (toWord - fromWord + BLOCK_WORDS - 1) / BLOCK_WORDS;
+            if (blocks > 1) {
+                int middle = fromWord + blocks / 2 * BLOCK_WORDS;
+                invokeAll(new FillTask(fromWord, middle), new FillTask(middle, toWord));
+                return;
+            }
+
+            SplittableRandom blockRandom = new SplittableRandom(seed ^ (fromWord / BLOCK_WORDS) * 0x9E3779B97F4A7C15L);
+            long total = (long) rows * cols;
+            long cell = (long) fromWord << 6;
+            int row = (int) (cell / cols);
+            int col = (int) (cell % cols);
+
+            // Each task owns whole words, so no two threads write the same long
+            for (int w = fromWord; w < toWord; w++) {
+                long word = -1L; // 1 = wall
+                for (int bit = 0; bit < 64 && cell < total; bit++, cell++) {
+                    boolean interior = row > 0 && row < rows - 1 && col > 0 && col < cols - 1;
+                    if (interior && ((row % 2 == 1 && col % 2 == 1) || blockRandom.nextInt(100) < pathDensity)) {
+                        word &= ~(1L << bit);
+                    }
+                    if (++col == cols) {
+                        col = 0;
+                        row++;
+                    }
+                }
+                words[w] = word;
+            }
+        }
+    }
+
+    // Joins the maze in square tiles so the scratch state stays small. Inside each tile,
+    // a union-find labels the open regions, then every region grows outward through the
+    // walls at once; where two regions meet, the walls between them are carved and the
+    // regions merged. Breadth-first order finds the shortest bridges first, so few cells
+    // are carved. Tiles are independent and run on the fork-join pool for large mazes.
+    // Each tile is then one region, so only tiles are joined across their borders.
+    // Linear in the number of cells; the outer border is never touched.
+    private void connectRegions() {
+        int tilesX = Math.max(1, cols / TILE);
+        int tilesY = Math.max(1, rows / TILE);
+        int tileCount = tilesX * tilesY;
+        int[] carved = new int[tileCount];
+
+        if ((long) rows * cols >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new JoinTask(words, tilesX, tilesY, 0, tileCount, carved));
+        } else {
+            for (int tile = 0; tile < tileCount; tile++) {
+                joinTile(words, tilesX, tilesY, tile, carved);
+            }
+        }
+
+        carvedCells = 0;
+        for (int tile = 0; tile < tileCount; tile++) {
+            carvedCells += carved[tile];
+        }
+
+        // Union-find over tiles; tiles whose open cells already touch share a region
+        int[] parent = new int[tileCount];
+        byte[] rank = new byte[tileCount];
+        for (int tile = 0; tile < tileCount; tile++) {
+            parent[tile] = tile;
+        }
+        for (int ty = 0; ty < tilesY; ty++) {
+            for (int tx = 0; tx < tilesX; tx++) {
+                int tile = ty * tilesX + tx;
+                if (tx + 1 < tilesX && touches(true, tileLeft(tx + 1, tilesX), tileTop(ty, tilesY), tileTop(ty + 1, tilesY))) {
+                    union(parent, rank, tile, tile + 1);
+                }
+                if (ty + 1 < tilesY && touches(false, tileTop(ty + 1, tilesY), tileLeft(tx, tilesX), tileLeft(tx + 1, tilesX))) {
+                    union(parent, rank, tile, tile + tilesX);
+                }
+            }
+        }
+
+        // The rest get the cheapest straight bridge across their shared border
+        for (int ty = 0; ty < tilesY; ty++) {
+            for (int tx = 0; tx < tilesX; tx++) {
+                int tile = ty * tilesX + tx;
+                if (tx + 1 < tilesX && find(parent, tile) != find(parent, tile + 1)) {
+                    int cost = bridge(true, tileLeft(tx + 1, tilesX), tileLeft(tx, tilesX), tileLeft(tx + 2, tilesX),
+                            tileTop(ty, tilesY), tileTop(ty + 1, tilesY));
+                    if (cost >= 0) {
+                        carvedCells += cost;
+                        union(parent, rank, tile, tile + 1);
+                    }
+                }
+                if (ty + 1 < tilesY && find(parent, tile) != find(parent, tile + tilesX)) {
+                    int cost = bridge(false, tileTop(ty + 1, tilesY), tileTop(ty, tilesY), tileTop(ty + 2, tilesY),
+                            tileLeft(tx, tilesX), tileLeft(tx + 1, tilesX));
+                    if (cost >= 0) {
+                        carvedCells += cost;
+                        union(parent, rank, tile, tile + tilesX);
+                    }
+                }
+            }
+        }
+    }
+
+    private int tileLeft(int tx, int tilesX) {
+        return (int) ((long) tx * cols / tilesX);
+    }
+
+    private int tileTop(int ty, int tilesY) {
+        return (int) ((long) ty * rows / tilesY);
+    }
+
+    private class JoinTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] words;
+        private final int tilesX, tilesY, fromTile, toTile;
+        private final int[] carved;
+
+        JoinTask(long[] words, int tilesX, int tilesY, int fromTile, int toTile, int[] carved) {
+            this.words = words;
+            this.tilesX = tilesX;
+            this.tilesY = tilesY;
+            this.fromTile = fromTile;
+            this.toTile = toTile;
+            this.carved = carved;
+        }
+
+        @Override
+        protected void compute() {
+            if (toTile - fromTile > 1) {
+                int middle = (fromTile + toTile) >>> 1;
+                invokeAll(new JoinTask(words, tilesX, tilesY, fromTile, middle, carved),
+                        new JoinTask(words, tilesX, tilesY, middle, toTile, carved));
+                return;
+            }
+            joinTile(words, tilesX, tilesY, fromTile, carved);
+        }
+    }
+
+    // Connects every open cell inside one tile, touching only that tile's bits. Tiles
+    // share words at their edges, so words are read and carved atomically here.
+    private void joinTile(long[] words, int tilesX, int tilesY, int tile, int[] carved) {
+        int left = tileLeft(tile % tilesX, tilesX);
+        int right = tileLeft(tile % tilesX + 1, tilesX);
+        int top = tileTop(tile / tilesX, tilesY);
+        int bottom = tileTop(tile / tilesX + 1, tilesY);
+        int width = right - left;
+        int size = width * (bottom - top);
+        int[] parent = new int[size];  // Union-find; claimed walls join the region that reached them
+        byte[] rank = new byte[size];
+        int[] queue = new int[size];
+        byte[] from = new byte[size];  // Direction each claimed wall was reached from, OPEN or CARVED
+        int head = 0, tail = 0;
+        int remaining = 0; // Regions in the tile not yet joined to another
+
+        Arrays.fill(parent, -1);
+        for (int y = top; y < bottom; y++) {
+            for (int x = left; x < right; x++) {
+                int index = y * cols + x;
+                if (((long) WORDS.getOpaque(words, index >>> 6) & (1L << index)) != 0) {
+                    continue;
+                }
+                int cell = (y - top) * width + x - left;
+                boolean openLeft = x > left && parent[cell - 1] >= 0;
+                boolean openUp = y > top && parent[cell - width] >= 0;
+                from[cell] = OPEN;
+                if (openLeft) {
+                    parent[cell] = parent[cell - 1];
+                } else {
+                    parent[cell] = cell;
+                    remaining++;
+                }
+                // Left and up already share a region when the cell between them is open
+                if (openUp && !(openLeft && parent[cell - width - 1] >= 0) && union(parent, rank, cell, cell - width)) {
+                    remaining--;
+                }
+            }
+        }
 
-        // Make sure there's a path from start to end
-        ensurePath();
+        // Walls next to open cells are claimed first, and a wall between two regions is carved
+        int minX = Math.max(left, 1), maxX = Math.min(right, cols - 1);
+        int minY = Math.max(top, 1), maxY = Math.min(bottom, rows - 1);
+        for (int y = minY; y < maxY && remaining > 1; y++) {
+            for (int x = minX; x < maxX; x++) {
+                int cell = (y - top) * width + x - left;
+                if (parent[cell] >= 0) {
+                    continue;
+                }
+                int root = -1;
+                for (int direction = 0; direction < 4; direction++) {
+                    int nx = x - DX[direction];
+                    int ny = y - DY[direction];
+                    int next = cell - DY[direction] * width - DX[direction];
+                    if (nx < left || ny < top || nx >= right || ny >= bottom || from[next] != OPEN) {
+                        continue;
+                    }
+                    int other = find(parent, next);
+                    if (root < 0) {
+                        root = other;
+                        parent[cell] = next;
+                        from[cell] = (byte) direction;
+                        queue[tail++] = cell;
+                    } else if (other != root) {
+                        root = link(parent, rank, root, other);
+                        carved[tile] += carveBack(words, cell, from, left, top, width);
+                        remaining--;
+                    }
+                }
+            }
+        }
+
+        // Then the claimed walls grow outward together; open neighbours were handled above
+        while (head < tail && remaining > 1) {
+            int cell = queue[head++];
+            int x = left + cell % width;
+            int y = top + cell / width;
+            for (int direction = 0; direction < 4; direction++) {
+                int nx = x + DX[direction];
+                int ny = y + DY[direction];
+                if (nx < minX || ny < minY || nx >= maxX || ny >= maxY) {
+                    continue;
+                }
+                int next = cell + DY[direction] * width + DX[direction];
+                if (parent[next] < 0) {
+                    parent[next] = cell;
+                    from[next] = (byte) direction;
+                    queue[tail++] = next;
+                } else if (from[next] != OPEN && union(parent, rank, cell, next)) {
+                    carved[tile] += carveBack(words, cell, from, left, top, width);
+                    carved[tile] += carveBack(words, next, from, left, top, width);
+                    remaining--;
+                }
+            }
+        }
+    }
+
+    private static final int[] DX = {-1, 1, 0, 0};
+    private static final int[] DY = {0, 0, -1, 1};
+    private static final byte OPEN = -1;   // Open before the tile was joined
+    private static final byte CARVED = -2; // Opened while joining the tile
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // Open the chain of claimed walls leading back to the region that claimed them
+    private int carveBack(long[] words, int cell, byte[] from, int left, int top, int width) {
+        int count = 0;
+        while (from[cell] >= 0) {
+            int direction = from[cell];
+            int index = (top + cell / width) * cols + left + cell % width;
+            long ignored = (long) WORDS.getAndBitwiseAnd(words, index >>> 6, ~(1L << index));
+            from[cell] = CARVED;
+            count++;
+            cell -= DY[direction] * width + DX[direction];
+        }
+        return count;
     }
 
-    private void ensurePath() {
-        // Ensure path from start to end
-        int x = 1, y = 1;
-        int endX = cols - 2, endY = rows - 2;
+    // Cell on a line of the grid; lines run down columns, or along rows when not vertical
+    private boolean wallAt(boolean vertical, int line, int along) {
+        return vertical ? isWall(line, along) : isWall(along, line);
+    }
 
-        while (x < endX || y < endY) {
-            if (x < endX && random.nextInt(2) == 0) {
-                x++;
-                grid[y][x] = 0;
-            } else if (y < endY) {
-                y++;
-                grid[y][x] = 0;
-            } else if (x < endX) {
-                x++;
-                grid[y][x] = 0;
+    // Whether any open cell on line border - 1 touches one on line border, between from and to
+    private boolean touches(boolean vertical, int border, int from, int to) {
+        for (int along = from; along < to; along++) {
+            if (!wallAt(vertical, border - 1, along) && !wallAt(vertical, border, along)) {
+                return true;
             }
         }
+        return false;
+    }
+
+    // Carves the shortest straight run of walls across the border between the tile spanning
+    // lines [low, border) and the one spanning [border, high). Returns the walls carved, or
+    // -1 if either side has no open cell to join.
+    private int bridge(boolean vertical, int border, int low, int high, int from, int to) {
+        int limit = vertical ? cols - 1 : rows - 1;
+        int bestAlong = -1, bestNear = 0, bestFar = 0;
+        int bestCost = Integer.MAX_VALUE;
+        for (int along = Math.max(from, 1); along < Math.min(to, vertical ? rows - 1 : cols - 1); along++) {
+            int near = border - 1;
+            while (near > Math.max(low, 1) && wallAt(vertical, near, along) && border - 1 - near < bestCost) {
+                near--;
+            }
+            if (wallAt(vertical, near, along)) {
+                continue;
+            }
+            int far = border;
+            while (far < Math.min(high, limit) - 1 && wallAt(vertical, far, along) && far - near - 1 < bestCost) {
+                far++;
+            }
+            if (wallAt(vertical, far, along) || far - near - 1 >= bestCost) {
+                continue;
+            }
+            bestAlong = along;
+            bestNear = near;
+            bestFar = far;
+            bestCost = far - near - 1;
+        }
+        if (bestAlong < 0) {
+            return -1;
+        }
+        for (int line = bestNear + 1; line < bestFar; line++) {
+            if (vertical) {
+                setPath(line, bestAlong);
+            } else {
+                setPath(bestAlong, line);
+            }
+        }
+        return bestCost;
+    }
+
+    private static int find(int[] parent, int cell) {
+        while (parent[cell] != cell) {
+            parent[cell] = parent[parent[cell]]; // Path halving
+            cell = parent[cell];
+        }
+        return cell;
+    }
+
+    // Returns false if the two cells were already in the same region
+    private static boolean union(int[] parent, byte[] rank, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA == rootB) {
+            return false;
+        }
+        link(parent, rank, rootA, rootB);
+        return true;
+    }
+
+    // Merges two different roots by rank and returns the root of the merged region
+    private static int link(int[] parent, byte[] rank, int rootA, int rootB) {
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+            return rootB;
+        }
+        parent[rootB] = rootA;
+        if (rank[rootA] == rank[rootB]) {
+            rank[rootA]++;
+        }
+        return rootA;
+    }
+
+    // Separate open regions in the whole maze; 1 after generate(), possibly more in a MazeFile
+    public int getComponentCount() {
+        labelRegions();
+        return componentCount;
+    }
+
+    public int getCarvedCells() {
+        return carvedCells;
+    }
+
+    // The one pathfinder for this maze; its search structures are only worth building once
+    public synchronized Pathfinder getPathfinder() {
+        if (pathfinder == null) {
+            pathfinder = new Pathfinder(this);
+        }
+        return pathfinder;
+    }
+
+    // Whether (x, y) is open and connected to the start
+    public boolean isReachable(int x, int y) {
+        if (x < 0 || x >= cols || y < 0 || y >= rows) {
+            return false;
+        }
+        labelRegions();
+        int index = y * cols + x;
+        return (reachable[index >>> 6] & (1L << index)) != 0;
+    }
+
+    // Cell indexes (y * cols + x) of the open cells connected to the start. After generate()
+    // that is every open cell; pockets in a maze loaded from a MazeFile are left out.
+    public int[] getReachableCells() {
+        labelRegions();
+        int count = 0;
+        for (long word : reachable) {
+            count += Long.bitCount(word);
+        }
+        int[] result = new int[count];
+        int next = 0;
+        for (int w = 0; w < reachable.length; w++) {
+            for (long open = reachable[w]; open != 0; open &= open - 1) {
+                result[next++] = (w << 6) + Long.numberOfTrailingZeros(open);
+            }
+        }
+        return result;
+    }
+
+    // One flood-fill pass over the whole maze: the region holding the start becomes the
+    // reachable set, and every other region is flooded once so it can be counted
+    private synchronized void labelRegions() {
+        if (reachable != null) {
+            return;
+        }
+        int total = rows * cols;
+        long[] seen = new long[(int) (((long) total + 63) >>> 6)];
+        int[] stack = new int[256];
+        int count = 0;
+        if (!isWall(startX, startY)) {
+            stack = flood(seen, startY * cols + startX, stack);
+            count++;
+        }
+        long[] fromStart = seen.clone();
+
+        for (int w = 0; w < seen.length; w++) {
+            long valid = w == seen.length - 1 && (total & 63) != 0 ? (1L << total) - 1 : -1L;
+            long unseen;
+            while ((unseen = ~(cells.get(w) | seen[w]) & valid) != 0) {
+                stack = flood(seen, (w << 6) + Long.numberOfTrailingZeros(unseen), stack);
+                count++;
+            }
+        }
+        componentCount = count;
+        reachable = fromStart;
+    }
+
+    // Marks every open cell connected to cell in seen, a row span at a time: each span is
+    // filled whole, then one seed is pushed for every run of unseen open cells next to it.
+    // Returns the stack, grown if needed, so the next flood can reuse it.
+    private int[] flood(long[] seen, int cell, int[] stack) {
+        stack[0] = cell;
+        int size = 1;
+        while (size > 0) {
+            int index = stack[--size];
+            if (!unseen(seen, index)) {
+                continue;
+            }
+            int y = index / cols;
+            int rowStart = y * cols;
+            int left = index, right = index;
+            while (left > rowStart && unseen(seen, left - 1)) {
+                left--;
+            }
+            while (right < rowStart + cols - 1 && unseen(seen, right + 1)) {
+                right++;
+            }
+            for (int i = left; i <= right; i++) {
+                seen[i >>> 6] |= 1L << i;
+            }
+            for (int dy = -1; dy <= 1; dy += 2) {
+                if (y + dy < 0 || y + dy >= rows) {
+                    continue;
+                }
+                boolean inRun = false;
+                for (int i = left + dy * cols; i <= right + dy * cols; i++) {
+                    boolean open = unseen(seen, i);
+                    if (open && !inRun) {
+                        if (size == stack.length) {
+                            stack = Arrays.copyOf(stack, size * 2);
+                        }
+                        stack[size++] = i;
+                    }
+                    inRun = open;
+                }
+            }
+        }
+        return stack;
+    }
+
+    private boolean unseen(long[] seen, int index) {
+        long word = words != null ? words[index >>> 6] : cells.get(index >>> 6);
+        return ((word | seen[index >>> 6]) & (1L << index)) == 0;
+    }
+
+    // Mapped mazes are read-only; regenerating one switches it to its own heap copy
+    private void ensureWritable() {
+        if (words == null) {
+            words = new long[cells.limit()];
+            cells.get(0, words);
+            cells = LongBuffer.wrap(words);
+        }
+    }
+
+    private void setPath(int x, int y) {
+        int index = y * cols + x;
+        words[index >>> 6] &= ~(1L << index);
     }
 
     public boolean isWall(int x, int y) {
         if (x < 0 || x >= cols || y < 0 || y >= rows) {
             return true;
         }
-        return grid[y][x] == 1;
+        int index = y * cols + x;
+        // Heap mazes read their array directly; going through the LongBuffer was a third slower
+        long word = words != null ? words[index >>> 6] : cells.get(index >>> 6);
+        return (word & (1L << index)) != 0;
     }
 
     public void draw(Graphics2D g, Color backgroundColor) {
+        draw(g, backgroundColor, 0, 0, cols, rows);
+    }
+
+    // Draw only the given block of cells, with cell (left, top) at the origin
+    public void draw(Graphics2D g, Color backgroundColor, int left, int top, int widthCells, int heightCells) {
         int cellSize = 30;
 
         // Draw background
         g.setColor(backgroundColor);
-        g.fillRect(0, 0, cols * cellSize, rows * cellSize);
+        g.fillRect(0, 0, widthCells * cellSize, heightCells * cellSize);
 
         // Draw walls
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                if (grid[i][j] == 1) {
-                    g.setColor(Color.DARK_GRAY);
+        g.setColor(Color.DARK_GRAY);
+        for (int i = 0; i < heightCells; i++) {
+            for (int j = 0; j < widthCells; j++) {
+                if (isWall(left + j, top + i)) {
                     g.fillRect(j * cellSize, i * cellSize, cellSize, cellSize);
                 }
             }
@@ -101,6 +685,6 @@ class Maze {
 
         // Mark the exit
         g.setColor(Color.GREEN);
-        g.fillRect((cols - 2) * cellSize, (rows - 2) * cellSize, cellSize, cellSize);
+        g.fillRect((exitX - left) * cellSize, (exitY - top) * cellSize, cellSize, cellSize);
     }
 }
\ No newline at end of file
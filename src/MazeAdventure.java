@@ -64,6 +64,8 @@ public class MazeAdventure extends JFrame {
         createBeginnerTab();
         createIntermediateTab();
         createAdvancedTab();
+        createEndlessTab();
+        createExploreTab();
         tabbedPane.setForeground(new Color(13, 141, 230));
 
     }
@@ -126,6 +128,58 @@ public class MazeAdventure extends JFrame {
         tabbedPane.setBackgroundAt(2, new Color(255, 200, 200));
     }
 
+    private void createEndlessTab() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        JLabel titleLabel = new JLabel("Endless Levels", JLabel.CENTER);
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 18));
+        panel.add(titleLabel, BorderLayout.NORTH);
+
+        // Pick any level number; its card is rebuilt as the number changes
+        JPanel levelsPanel = new JPanel(new BorderLayout(10, 10));
+        levelsPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+        JSpinner numberSpinner = new JSpinner(new SpinnerNumberModel(EndlessLevel.FIRST_NUMBER,
+                EndlessLevel.FIRST_NUMBER, Integer.MAX_VALUE, 1));
+        levelsPanel.add(numberSpinner, BorderLayout.NORTH);
+        JPanel cardHolder = new JPanel(new GridLayout(0, 3, 10, 10));
+        cardHolder.add(createLevelCard(levelManager.getLevelByNumber(EndlessLevel.FIRST_NUMBER)));
+        levelsPanel.add(cardHolder, BorderLayout.CENTER);
+        numberSpinner.addChangeListener(e -> {
+            cardHolder.removeAll();
+            cardHolder.add(createLevelCard(levelManager.getLevelByNumber((Integer) numberSpinner.getValue())));
+            cardHolder.revalidate();
+            cardHolder.repaint();
+        });
+        panel.add(levelsPanel, BorderLayout.CENTER);
+
+        JLabel descriptionLabel = new JLabel("Procedural mazes that keep growing - how far can you go?");
+        panel.add(descriptionLabel, BorderLayout.SOUTH);
+
+        tabbedPane.addTab("Endless", new ImageIcon(), panel, "Endless");
+
+        tabbedPane.setBackgroundAt(3, new Color(200, 255, 210));
+    }
+
+    private void createExploreTab() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        JLabel titleLabel = new JLabel("Explore", JLabel.CENTER);
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 18));
+        panel.add(titleLabel, BorderLayout.NORTH);
+
+        JPanel levelsPanel = createLevelSelectionPanel(java.util.Collections.singletonList(levelManager.getExploreLevel()));
+        panel.add(levelsPanel, BorderLayout.CENTER);
+
+        JLabel descriptionLabel = new JLabel("A maze with no edges - wander as far as you like to find the exit!");
+        panel.add(descriptionLabel, BorderLayout.SOUTH);
+
+        tabbedPane.addTab("Explore", new ImageIcon(), panel, "Explore");
+
+        tabbedPane.setBackgroundAt(4, new Color(235, 225, 200));
+    }
+
     private JPanel createLevelSelectionPanel(java.util.List<Level> levels) {
         JPanel panel = new JPanel(new GridLayout(0, 3, 10, 10));
         panel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
@@ -205,6 +259,11 @@ public class MazeAdventure extends JFrame {
         });
 
         GamePanel gamePanel = new GamePanel(level);
+        // Build the next level's maze while this one is played; explore mode has no next level
+        Level next = level instanceof ExploreLevel ? null : levelManager.getLevelByNumber(level.getNumber() + 1);
+        if (next != null) {
+            MazeCache.shared().prefetch(next, next.getMazeRows(), next.getMazeCols());
+        }
         gameFrame.add(gamePanel);
         gameFrame.pack();
         gameFrame.setLocationRelativeTo(null);
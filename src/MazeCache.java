@@ -0,0 +1,128 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+// Generated mazes keyed by (seed, rows, cols, density), least recently used evicted first.
+// A maze is never modified after generate(), so one instance can back every restart of
+// its level. prefetch() builds a maze on a background thread before it is needed.
+class MazeCache {
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final MazeCache SHARED = new MazeCache(DEFAULT_CAPACITY);
+
+    private final int capacity;
+    private final Map<Key, FutureTask<Maze>> entries;
+    private final ExecutorService prefetcher;
+
+    public MazeCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<Key, FutureTask<Maze>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, FutureTask<Maze>> eldest) {
+                return size() > MazeCache.this.capacity;
+            }
+        };
+        this.prefetcher = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "maze-prefetch");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY); // Never compete with the game loop
+            return thread;
+        });
+    }
+
+    public static MazeCache shared() {
+        return SHARED;
+    }
+
+    // The level's maze, waiting for a prefetch in progress rather than generating it twice.
+    // An interrupt doesn't cut the wait short, since the maze is needed either way; the
+    // flag is restored once it is ready.
+    public Maze get(Level level, int rows, int cols) {
+        FutureTask<Maze> task = lookup(level, rows, cols);
+        task.run(); // No-op if already generated or running elsewhere
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return task.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            evict(task);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Maze generation failed", e.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Start generating the level's maze in the background if it isn't cached yet
+    public void prefetch(Level level, int rows, int cols) {
+        if (level == null) {
+            return;
+        }
+        FutureTask<Maze> task = lookup(level, rows, cols);
+        if (!task.isDone()) {
+            prefetcher.execute(task);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private synchronized FutureTask<Maze> lookup(Level level, int rows, int cols) {
+        Key key = new Key(level.getMazeSeed(), rows, cols, level.getPathDensity());
+        return entries.computeIfAbsent(key, k -> new FutureTask<>(() -> generate(level, rows, cols)));
+    }
+
+    private synchronized void evict(FutureTask<Maze> task) {
+        entries.values().remove(task);
+    }
+
+    private static Maze generate(Level level, int rows, int cols) {
+        Maze maze = new Maze(rows, cols);
+        maze.setSeed(level.getMazeSeed());
+        level.generateMaze(maze);
+        return maze;
+    }
+
+    private static final class Key {
+        final long seed;
+        final int rows, cols, density;
+
+        Key(long seed, int rows, int cols, int density) {
+            this.seed = seed;
+            this.rows = rows;
+            this.cols = cols;
+            this.density = density;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return seed == other.seed && rows == other.rows && cols == other.cols && density == other.density;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(seed, rows, cols, density);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Versioned binary maze format, little-endian:
+//   0  int  magic "MAZE"          20 int  start y
+//   4  int  version               24 int  exit x
+//   8  int  rows                  28 int  exit y
+//  12  int  cols                  32 int  spawn count
+//  16  int  start x               36 int  reserved (0)
+//  40  long[ceil(rows*cols/64)]   cells, bit-packed exactly like Maze (1 = wall)
+//  ..  int[2 * spawn count]       spawn points as x, y pairs
+// The header is a multiple of 8 bytes so the cell words stay aligned in the mapping.
+final class MazeFile {
+    static final int MAGIC = 0x4D415A45; // "MAZE"
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 40;
+    private static final int CHUNK_WORDS = 8192; // Cell words per write
+
+    private MazeFile() {
+    }
+
+    public static void write(Maze maze, Path path) throws IOException {
+        int rows = maze.getRows();
+        int cols = maze.getCols();
+        int[] spawns = maze.getSpawnPoints();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(cols)
+                    .putInt(maze.getStartX()).putInt(maze.getStartY())
+                    .putInt(maze.getExitX()).putInt(maze.getExitY())
+                    .putInt(spawns.length).putInt(0);
+            writeFully(channel, header.flip());
+
+            LongBuffer cells = maze.getCellWords();
+            ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_WORDS * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int w = 0; w < cells.limit(); ) {
+                chunk.clear();
+                for (int end = Math.min(w + CHUNK_WORDS, cells.limit()); w < end; w++) {
+                    chunk.putLong(cells.get(w));
+                }
+                writeFully(channel, chunk.flip());
+            }
+
+            ByteBuffer spawnBytes = ByteBuffer.allocate(spawns.length * 2 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int cell : spawns) {
+                spawnBytes.putInt(cell % cols).putInt(cell / cols);
+            }
+            writeFully(channel, spawnBytes.flip());
+        }
+    }
+
+    // Maps the file read-only; the maze reads its cells straight from the mapping
+    public static Maze load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Not a maze file: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (mapped.getInt(0) != MAGIC) {
+                throw new IOException("Not a maze file: " + path);
+            }
+            int version = mapped.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("Unsupported maze file version " + version + ": " + path);
+            }
+            int rows = mapped.getInt(8);
+            int cols = mapped.getInt(12);
+            int spawnCount = mapped.getInt(32);
+            long words = ((long) rows * cols + 63) >>> 6;
+            long expected = HEADER_BYTES + words * Long.BYTES + (long) spawnCount * 2 * Integer.BYTES;
+            if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE || spawnCount < 0 || size != expected) {
+                throw new IOException("Corrupt maze file: " + path);
+            }
+
+            LongBuffer cells = mapped.slice(HEADER_BYTES, (int) (words * Long.BYTES))
+                    .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+
+            int spawnOffset = HEADER_BYTES + (int) (words * Long.BYTES);
+            int[] spawns = new int[spawnCount];
+            for (int i = 0; i < spawnCount; i++) {
+                spawns[i] = cellAt(mapped, spawnOffset + i * 8, rows, cols, cells, path);
+            }
+            int start = cellAt(mapped, 16, rows, cols, cells, path);
+            int exit = cellAt(mapped, 24, rows, cols, cells, path);
+
+            return new Maze(rows, cols, cells, start % cols, start / cols, exit % cols, exit / cols, spawns);
+        }
+    }
+
+    // An x, y pair stored at offset, checked to be an open cell inside the maze
+    private static int cellAt(ByteBuffer buffer, int offset, int rows, int cols, LongBuffer cells, Path path) throws IOException {
+        int x = buffer.getInt(offset);
+        int y = buffer.getInt(offset + 4);
+        if (x < 0 || y < 0 || x >= cols || y >= rows) {
+            throw new IOException("Corrupt maze file: " + path);
+        }
+        int index = y * cols + x;
+        if ((cells.get(index >>> 6) & (1L << index)) != 0) {
+            throw new IOException("Start, exit or spawn point inside a wall (" + x + ", " + y + "): " + path);
+        }
+        return index;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
\ No newline at end of file
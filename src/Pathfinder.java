@@ -0,0 +1,254 @@
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+
+// Shortest paths over a Maze: A* on primitive int cell ids with a binary heap, plus a
+// jump-point-search variant that skips straight runs through open areas.
+// Safe to share between threads; use Maze.getPathfinder() so every world on a maze
+// shares one. Scratch arrays come from a small pool that dies with the pathfinder.
+class Pathfinder {
+    static final int HIERARCHY_MIN_CELLS = 1 << 16; // Mazes this big also get an HPA* layer
+    private static final int MAX_IDLE_SEARCHES = Runtime.getRuntime().availableProcessors();
+
+    private final Maze maze;
+    private final int rows, cols;
+    private final ArrayBlockingQueue<Search> idleSearches = new ArrayBlockingQueue<>(MAX_IDLE_SEARCHES);
+    // Both built on first use; most mazes only ever see short A* routes
+    private volatile HierarchicalPathfinder hierarchy;
+    // Per cell: LEADS_LEFT / LEADS_RIGHT when a horizontal jump from it reaches a forced
+    // neighbour before a wall, so vertical jumps don't rescan every row they cross
+    private volatile byte[] horizontalJumps;
+
+    private static final byte LEADS_LEFT = 1;
+    private static final byte LEADS_RIGHT = 2;
+
+    public Pathfinder(Maze maze) {
+        this.maze = maze;
+        this.rows = maze.getRows();
+        this.cols = maze.getCols();
+    }
+
+    private HierarchicalPathfinder hierarchy() {
+        HierarchicalPathfinder result = hierarchy;
+        if (result == null) {
+            synchronized (this) {
+                result = hierarchy;
+                if (result == null) {
+                    hierarchy = result = new HierarchicalPathfinder(maze);
+                }
+            }
+        }
+        return result;
+    }
+
+    private byte[] horizontalJumps() {
+        byte[] result = horizontalJumps;
+        if (result == null) {
+            synchronized (this) {
+                result = horizontalJumps;
+                if (result == null) {
+                    horizontalJumps = result = buildHorizontalJumps();
+                }
+            }
+        }
+        return result;
+    }
+
+    private byte[] buildHorizontalJumps() {
+        byte[] jumps = new byte[rows * cols];
+        for (int y = 0; y < rows; y++) {
+            for (int x = 1; x < cols; x++) {
+                int left = y * cols + x - 1;
+                if (!maze.isWall(x - 1, y) && (forcedHorizontal(x - 1, y, -1) || (jumps[left] & LEADS_LEFT) != 0)) {
+                    jumps[left + 1] |= LEADS_LEFT;
+                }
+            }
+            for (int x = cols - 2; x >= 0; x--) {
+                int right = y * cols + x + 1;
+                if (!maze.isWall(x + 1, y) && (forcedHorizontal(x + 1, y, 1) || (jumps[right] & LEADS_RIGHT) != 0)) {
+                    jumps[right - 1] |= LEADS_RIGHT;
+                }
+            }
+        }
+        return jumps;
+    }
+
+    // Search state borrowed for one query; generation stamps avoid clearing the arrays between searches
+    private static class Search {
+        final int[] cost;
+        final int[] parent;
+        final int[] seen;
+        final int[] closed;
+        final IntMinHeap open = new IntMinHeap();
+        int generation = 0;
+
+        Search(int cells) {
+            cost = new int[cells];
+            parent = new int[cells];
+            seen = new int[cells];
+            closed = new int[cells];
+        }
+
+        void begin() {
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(seen, 0);
+                Arrays.fill(closed, 0);
+                generation = 1;
+            }
+            open.clear();
+        }
+    }
+
+    // Cells from the first step to the goal, an empty array if already there, or null if unreachable
+    public int[] findPath(int startX, int startY, int goalX, int goalY) {
+        return search(startX, startY, goalX, goalY, false);
+    }
+
+    public int[] findPathJumpPoints(int startX, int startY, int goalX, int goalY) {
+        return search(startX, startY, goalX, goalY, true);
+    }
+
+    // Best route for enemy AI: exact A* nearby, the cluster graph for long trips on big mazes.
+    // Jump points only break even with A* at the game's path densities, so they aren't used here.
+    public int[] findRoute(int startX, int startY, int goalX, int goalY) {
+        int distance = Math.abs(goalX - startX) + Math.abs(goalY - startY);
+        if (rows * cols >= HIERARCHY_MIN_CELLS && distance > HierarchicalPathfinder.CLUSTER_SIZE) {
+            return hierarchy().findPath(startX, startY, goalX, goalY);
+        }
+        return findPath(startX, startY, goalX, goalY);
+    }
+
+    private int[] search(int startX, int startY, int goalX, int goalY, boolean jumpPoints) {
+        if (maze.isWall(startX, startY) || maze.isWall(goalX, goalY)) {
+            return null;
+        }
+        byte[] jumps = jumpPoints ? horizontalJumps() : null;
+        // At most one idle search per core is kept; extras from a burst are left to the GC
+        Search s = idleSearches.poll();
+        if (s == null) {
+            s = new Search(rows * cols);
+        }
+        try {
+            return search(s, startX, startY, goalX, goalY, jumps);
+        } finally {
+            idleSearches.offer(s);
+        }
+    }
+
+    // A* from start to goal; jumps is the horizontal jump table for jump points, or null for plain steps
+    private int[] search(Search s, int startX, int startY, int goalX, int goalY, byte[] jumps) {
+        s.begin();
+
+        int start = startY * cols + startX;
+        int goal = goalY * cols + goalX;
+        relax(s, start, -1, 0, goalX, goalY);
+
+        while (!s.open.isEmpty()) {
+            int node = s.open.poll();
+            if (s.closed[node] == s.generation) {
+                continue;
+            }
+            s.closed[node] = s.generation;
+            if (node == goal) {
+                return buildPath(s, start, goal);
+            }
+
+            int x = node % cols;
+            int y = node / cols;
+            int fromX = 0, fromY = 0; // Direction we arrived from, not expanded again
+            if (s.parent[node] >= 0) {
+                fromX = Integer.signum(s.parent[node] % cols - x);
+                fromY = Integer.signum(s.parent[node] / cols - y);
+            }
+
+            for (int direction = 0; direction < 4; direction++) {
+                int dx = DX[direction], dy = DY[direction];
+                if (dx == fromX && dy == fromY) {
+                    continue;
+                }
+                int next = jumps != null ? jump(jumps, x, y, dx, dy, goalX, goalY) : step(x, y, dx, dy);
+                if (next >= 0 && s.closed[next] != s.generation) {
+                    int distance = Math.abs(next % cols - x) + Math.abs(next / cols - y);
+                    relax(s, next, node, s.cost[node] + distance, goalX, goalY);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static final int[] DX = {-1, 1, 0, 0};
+    private static final int[] DY = {0, 0, -1, 1};
+
+    private void relax(Search s, int node, int parent, int cost, int goalX, int goalY) {
+        if (s.seen[node] == s.generation && s.cost[node] <= cost) {
+            return;
+        }
+        s.seen[node] = s.generation;
+        s.cost[node] = cost;
+        s.parent[node] = parent;
+        int heuristic = Math.abs(node % cols - goalX) + Math.abs(node / cols - goalY);
+        s.open.add(node, cost + heuristic);
+    }
+
+    private int step(int x, int y, int dx, int dy) {
+        return maze.isWall(x + dx, y + dy) ? -1 : (y + dy) * cols + (x + dx);
+    }
+
+    // Follow a straight line until the goal, a wall, or a cell where a new side opening appears
+    private int jump(byte[] jumps, int x, int y, int dx, int dy, int goalX, int goalY) {
+        while (true) {
+            x += dx;
+            y += dy;
+            if (maze.isWall(x, y)) {
+                return -1;
+            }
+            if (x == goalX && y == goalY) {
+                return y * cols + x;
+            }
+            if (dx != 0) {
+                if (forcedHorizontal(x, y, dx)) {
+                    return y * cols + x;
+                }
+            } else {
+                if ((!maze.isWall(x - 1, y) && maze.isWall(x - 1, y - dy)) ||
+                        (!maze.isWall(x + 1, y) && maze.isWall(x + 1, y - dy))) {
+                    return y * cols + x;
+                }
+                // Vertical runs stop wherever a horizontal run leads somewhere useful
+                if (jumps[y * cols + x] != 0 || (y == goalY && openBetween(x, goalX, y))) {
+                    return y * cols + x;
+                }
+            }
+        }
+    }
+
+    // Whether a horizontal run moving by dx gains a side opening at (x, y)
+    private boolean forcedHorizontal(int x, int y, int dx) {
+        return (!maze.isWall(x, y - 1) && maze.isWall(x - dx, y - 1)) ||
+                (!maze.isWall(x, y + 1) && maze.isWall(x - dx, y + 1));
+    }
+
+    private boolean openBetween(int x, int goalX, int y) {
+        int dx = Integer.signum(goalX - x);
+        while (x != goalX) {
+            x += dx;
+            if (maze.isWall(x, y)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Walk the parent chain back and fill in the straight runs between jump points
+    private int[] buildPath(Search s, int start, int goal) {
+        int[] path = new int[s.cost[goal]];
+        int index = path.length;
+        for (int node = goal; node != start; node = s.parent[node]) {
+            int parent = s.parent[node];
+            int stepCells = Integer.signum(node % cols - parent % cols) + Integer.signum(node / cols - parent / cols) * cols;
+            for (int cell = node; cell != parent; cell -= stepCells) {
+                path[--index] = cell;
+            }
+        }
+        return path;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Timing histograms for simulation ticks, painting, enemy updates and GC pauses
+class PerformanceStats {
+    private final long frameTargetNanos;
+    private final LatencyHistogram tickTime = new LatencyHistogram("Tick");
+    private final LatencyHistogram enemyUpdateTime = new LatencyHistogram("Enemies");
+    private final LatencyHistogram paintTime = new LatencyHistogram("Paint");
+    private final LatencyHistogram frameInterval = new LatencyHistogram("Frame");
+    private final LatencyHistogram gcPause = new LatencyHistogram("GC");
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicLong skippedFrames = new AtomicLong();
+    private final AtomicLong lastFrameStart = new AtomicLong();
+
+    private final List<NotificationEmitter> gcEmitters = new ArrayList<>();
+    private final NotificationListener gcListener = this::onGarbageCollection;
+
+    public PerformanceStats(long frameTargetNanos) {
+        this.frameTargetNanos = frameTargetNanos;
+    }
+
+    public void recordTick(long nanos) {
+        tickTime.record(nanos);
+    }
+
+    public void recordEnemyUpdate(long nanos) {
+        enemyUpdateTime.record(nanos);
+    }
+
+    // Call with the start time of each frame; long gaps count as dropped frames
+    public void recordPaint(long startNanos, long nanos) {
+        paintTime.record(nanos);
+        long previous = lastFrameStart.getAndSet(startNanos);
+        if (previous != 0) {
+            long interval = startNanos - previous;
+            frameInterval.record(interval);
+            if (interval > frameTargetNanos * 3 / 2) {
+                droppedFrames.addAndGet(Math.max(1, interval / frameTargetNanos - 1));
+            }
+        }
+    }
+
+    // A frame with nothing to repaint; the gap before the next real frame isn't a drop
+    public void recordSkippedFrame() {
+        skippedFrames.incrementAndGet();
+        lastFrameStart.set(0);
+    }
+
+    public long getSkippedFrames() {
+        return skippedFrames.get();
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    public LatencyHistogram[] getHistograms() {
+        return new LatencyHistogram[] {tickTime, enemyUpdateTime, paintTime, frameInterval, gcPause};
+    }
+
+    // Listen for GC pause notifications from the JVM
+    public synchronized void startGcMonitoring() {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) gc;
+                emitter.addNotificationListener(gcListener, null, null);
+                gcEmitters.add(emitter);
+            }
+        }
+    }
+
+    public synchronized void stopGcMonitoring() {
+        for (NotificationEmitter emitter : gcEmitters) {
+            try {
+                emitter.removeNotificationListener(gcListener);
+            } catch (Exception e) {
+                // Already removed
+            }
+        }
+        gcEmitters.clear();
+    }
+
+    private void onGarbageCollection(Notification notification, Object handback) {
+        if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            gcPause.record(info.getGcInfo().getDuration() * 1_000_000L);
+        }
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : getHistograms()) {
+            histogram.reset();
+        }
+        droppedFrames.set(0);
+        skippedFrames.set(0);
+        lastFrameStart.set(0);
+    }
+
+    // One line per histogram: name, count, p50/p99/max in milliseconds
+    public List<String> summary() {
+        List<String> lines = new ArrayList<>();
+        for (LatencyHistogram histogram : getHistograms()) {
+            lines.add(String.format("%-8s n=%-6d p50 %6.2f  p99 %6.2f  max %6.2f ms",
+                    histogram.getName(), histogram.getCount(),
+                    histogram.getPercentile(50) / 1e6, histogram.getPercentile(99) / 1e6, histogram.getMax() / 1e6));
+        }
+        lines.add("Dropped frames: " + droppedFrames.get() + "  Skipped (unchanged): " + skippedFrames.get());
+        return lines;
+    }
+
+    public void dump(Path file, String title) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println(title);
+            for (String line : summary()) {
+                out.println(line);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -18,8 +18,19 @@ class Player extends Entity {
 
     @Override
     public void draw(Graphics2D g) {
+        int cellSize = 30;
+        drawAt(g, x * cellSize, y * cellSize);
+    }
+
+    // Draw at a pixel position, used for interpolated rendering
+    public void drawAt(Graphics2D g, int pixelX, int pixelY) {
+        drawAt(g, color, pixelX, pixelY);
+    }
+
+    // Draw a player of the given colour, as recorded in a WorldSnapshot
+    public static void drawAt(Graphics2D g, Color color, int pixelX, int pixelY) {
         int cellSize = 30;
         g.setColor(color);
-        g.fillOval(x * cellSize + 5, y * cellSize + 5, cellSize - 10, cellSize - 10);
+        g.fillOval(pixelX + 5, pixelY + 5, cellSize - 10, cellSize - 10);
     }
 }
\ No newline at end of file
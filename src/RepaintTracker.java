@@ -0,0 +1,99 @@
+import java.awt.*;
+
+// Remembers what the last requested frame showed and works out which part of the view
+// the next one changes: cells entities left or entered, enemies whose animation frame
+// advanced and the HUD strip. Camera moves, level changes and overlays repaint everything.
+class RepaintTracker {
+    private final int cellSize;
+    private final int viewWidth, viewHeight;
+    private final int hudHeight;
+
+    private boolean valid = false;
+    private Maze maze;
+    private int cameraX, cameraY;
+    private int playerX, playerY;
+    private int timeRemaining;
+    private boolean overlay;
+    private int[] enemyX = new int[0], enemyY = new int[0], enemyFrame = new int[0];
+
+    public RepaintTracker(int cellSize, int viewWidth, int viewHeight, int hudHeight) {
+        this.cellSize = cellSize;
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        this.hudHeight = hudHeight;
+    }
+
+    // Forget the last frame so the next update repaints the whole view
+    public void invalidate() {
+        valid = false;
+    }
+
+    // Record the frame about to be painted and return the changed area in view coordinates;
+    // empty when nothing visible changed
+    public Rectangle update(WorldSnapshot frame, double alpha, Camera camera, boolean showStats) {
+        int count = frame.getEnemyCount();
+        int newPlayerX = GamePanel.interpolate(frame.prevPlayerX, frame.playerX, alpha);
+        int newPlayerY = GamePanel.interpolate(frame.prevPlayerY, frame.playerY, alpha);
+        boolean newOverlay = showStats || frame.gameOver || frame.levelComplete;
+
+        boolean full = !valid || frame.maze != maze || camera.getX() != cameraX || camera.getY() != cameraY ||
+                count != enemyX.length || newOverlay != overlay || showStats;
+        Rectangle dirty = new Rectangle(0, 0, -1, -1); // Nothing yet; add() ignores it
+
+        if (!full) {
+            if (newPlayerX != playerX || newPlayerY != playerY) {
+                dirty.add(new Rectangle(playerX, playerY, cellSize, cellSize));
+                dirty.add(new Rectangle(newPlayerX, newPlayerY, cellSize, cellSize));
+            }
+        }
+        playerX = newPlayerX;
+        playerY = newPlayerY;
+
+        if (enemyX.length != count) {
+            enemyX = new int[count];
+            enemyY = new int[count];
+            enemyFrame = new int[count];
+        }
+        int margin = EnemySpriteCache.MARGIN;
+        int size = EnemySpriteCache.FRAME_SIZE;
+        for (int i = 0; i < count; i++) {
+            int x = GamePanel.interpolate(frame.prevEnemyX[i], frame.enemyX[i], alpha);
+            int y = GamePanel.interpolate(frame.prevEnemyY[i], frame.enemyY[i], alpha);
+            int spriteFrame = EnemySpriteCache.frameIndex(frame.enemyAnimation[i]);
+            if (!full && (x != enemyX[i] || y != enemyY[i] || spriteFrame != enemyFrame[i])) {
+                addVisible(dirty, camera, enemyX[i] - margin, enemyY[i] - margin, size);
+                addVisible(dirty, camera, x - margin, y - margin, size);
+            }
+            enemyX[i] = x;
+            enemyY[i] = y;
+            enemyFrame[i] = spriteFrame;
+        }
+
+        if (!full && frame.timeRemaining != timeRemaining) {
+            dirty.add(new Rectangle(camera.getX(), camera.getY(), viewWidth, hudHeight));
+        }
+
+        valid = true;
+        maze = frame.maze;
+        cameraX = camera.getX();
+        cameraY = camera.getY();
+        timeRemaining = frame.timeRemaining;
+        overlay = newOverlay;
+
+        if (full) {
+            return new Rectangle(0, 0, viewWidth, viewHeight);
+        }
+        if (dirty.isEmpty()) {
+            return new Rectangle();
+        }
+        dirty.translate(-camera.getX(), -camera.getY());
+        return dirty.intersection(new Rectangle(0, 0, viewWidth, viewHeight));
+    }
+
+    // Off-screen enemies animate too, but there is nothing to repaint for them
+    private static void addVisible(Rectangle dirty, Camera camera, int x, int y, int size) {
+        if (camera.isVisible(x, y, size, size)) {
+            dirty.add(new Rectangle(x, y, size, size));
+        }
+    }
+}
\ No newline at end of file
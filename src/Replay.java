@@ -0,0 +1,195 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+// Input log of one play session: which moves and restarts happened before which
+// simulation step. GameWorld is deterministic (maze and enemies are seeded from the
+// level), so playing the log against the same level reproduces the session exactly,
+// and the state hash saved with it proves that.
+//
+// File format: int magic "MZRP", byte version, then varints for level number, step
+// count and event count, the final state hash as a long, and one varint per event
+// holding (steps since the previous event << 3 | event code).
+class Replay {
+    static final int MAGIC = 0x4D5A5250; // "MZRP"
+    static final int VERSION = 1;
+
+    private static final int CODE_BITS = 3; // Event codes are GameWorld inputs
+
+    private final int levelNumber;
+    private int stepCount;
+    private int[] eventSteps = new int[64];
+    private byte[] eventCodes = new byte[64];
+    private int eventCount;
+    private long finalHash;
+
+    public Replay(int levelNumber) {
+        this.levelNumber = levelNumber;
+    }
+
+    public int getLevelNumber() {
+        return levelNumber;
+    }
+
+    public int getStepCount() {
+        return stepCount;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public long getFinalHash() {
+        return finalHash;
+    }
+
+    // Recording, called by GameWorld
+
+    void recordStep() {
+        stepCount++;
+    }
+
+    void recordMove(int dx, int dy) {
+        record(dx < 0 ? GameWorld.MOVE_LEFT : dx > 0 ? GameWorld.MOVE_RIGHT : dy < 0 ? GameWorld.MOVE_UP : GameWorld.MOVE_DOWN);
+    }
+
+    void recordReset() {
+        record(GameWorld.RESTART);
+    }
+
+    private void record(int code) {
+        if (eventCount == eventSteps.length) {
+            eventSteps = Arrays.copyOf(eventSteps, eventCount * 2);
+            eventCodes = Arrays.copyOf(eventCodes, eventCount * 2);
+        }
+        eventSteps[eventCount] = stepCount;
+        eventCodes[eventCount] = (byte) code;
+        eventCount++;
+    }
+
+    // Re-run the session headlessly, as fast as possible
+    public GameWorld play(Level level) {
+        GameWorld world = new GameWorld(level);
+        int next = 0;
+        for (int step = 0; step < stepCount; step++) {
+            while (next < eventCount && eventSteps[next] == step) {
+                world.applyInput(eventCodes[next++]);
+            }
+            world.step();
+        }
+        while (next < eventCount) {
+            world.applyInput(eventCodes[next++]);
+        }
+        return world;
+    }
+
+    // Save everything recorded so far; finalHash is the world's state hash right now
+    public void write(Path file, long finalHash) throws IOException {
+        this.finalHash = finalHash;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            writeVarint(out, levelNumber);
+            writeVarint(out, stepCount);
+            writeVarint(out, eventCount);
+            out.writeLong(finalHash);
+
+            int previous = 0;
+            for (int i = 0; i < eventCount; i++) {
+                writeVarint(out, (eventSteps[i] - previous) << CODE_BITS | eventCodes[i]);
+                previous = eventSteps[i];
+            }
+        }
+    }
+
+    public static Replay read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a replay file: " + file);
+            }
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported replay version " + version + ": " + file);
+            }
+            Replay replay = new Replay(readVarint(in));
+            replay.stepCount = readVarint(in);
+            int events = readVarint(in);
+            replay.finalHash = in.readLong();
+            if (replay.stepCount < 0 || events < 0) {
+                throw new IOException("Corrupt replay file: " + file);
+            }
+
+            replay.eventSteps = new int[Math.max(events, 1)];
+            replay.eventCodes = new byte[Math.max(events, 1)];
+            int step = 0;
+            for (int i = 0; i < events; i++) {
+                int value = readVarint(in);
+                step += value >>> CODE_BITS;
+                replay.eventSteps[i] = step;
+                replay.eventCodes[i] = (byte) (value & ((1 << CODE_BITS) - 1));
+            }
+            replay.eventCount = events;
+            return replay;
+        }
+    }
+
+    // Unsigned LEB128: seven bits per byte, high bit set on all but the last
+    private static void writeVarint(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated replay");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in replay");
+    }
+
+    // Headless check of saved sessions: java Replay <file>...
+    public static void main(String[] args) throws IOException {
+        LevelManager levels = new LevelManager();
+        boolean allMatch = true;
+        for (String arg : args) {
+            Path file = Paths.get(arg);
+            Replay replay = read(file);
+            Level level = levels.getLevelByNumber(replay.getLevelNumber());
+            if (level == null) {
+                System.out.println(file + ": unknown level " + replay.getLevelNumber());
+                allMatch = false;
+                continue;
+            }
+
+            long start = System.nanoTime();
+            GameWorld world = replay.play(level);
+            long elapsed = System.nanoTime() - start;
+            boolean match = world.stateHash() == replay.getFinalHash();
+            allMatch &= match;
+            System.out.printf("%s: level %d, %d steps, %d events, %.1f ms, %s%n", file, replay.getLevelNumber(),
+                    replay.getStepCount(), replay.getEventCount(), elapsed / 1e6, match ? "OK" : "MISMATCH");
+        }
+        if (!allMatch) {
+            System.exit(1);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+import java.util.Arrays;
+
+// Enemies bucketed by the cell they stand on, kept up to date as they move
+class SpatialGrid {
+    private final int rows, cols;
+    private final int[] head;   // First enemy id in each cell, -1 when empty
+    private final int[] counts; // Enemies in each cell
+    private int[] next = new int[16];
+    private int[] prev = new int[16];
+    private int[] cellOf = new int[16];
+    private Enemy[] enemies = new Enemy[16];
+    private int size = 0;
+
+    public SpatialGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.head = new int[rows * cols];
+        this.counts = new int[rows * cols];
+        Arrays.fill(head, -1);
+    }
+
+    // Start tracking an enemy at its current position
+    public void add(Enemy enemy) {
+        if (size == enemies.length) {
+            int capacity = size * 2;
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            cellOf = Arrays.copyOf(cellOf, capacity);
+            enemies = Arrays.copyOf(enemies, capacity);
+        }
+        int id = size++;
+        enemies[id] = enemy;
+        cellOf[id] = -1;
+        enemy.attach(this, id);
+        link(id, cellIndex(enemy.getX(), enemy.getY()));
+    }
+
+    // Called by Enemy whenever it changes cell
+    public void move(int id, int newX, int newY) {
+        int cell = cellIndex(newX, newY);
+        if (cell != cellOf[id]) {
+            unlink(id);
+            link(id, cell);
+        }
+    }
+
+    public int countAt(int x, int y) {
+        int cell = cellIndex(x, y);
+        return cell < 0 ? 0 : counts[cell];
+    }
+
+    public Enemy firstAt(int x, int y) {
+        int cell = cellIndex(x, y);
+        return cell < 0 || head[cell] < 0 ? null : enemies[head[cell]];
+    }
+
+    // Enemies within a square of the given radius around (x, y)
+    public int countNear(int x, int y, int radius) {
+        int total = 0;
+        for (int j = Math.max(0, y - radius); j <= Math.min(rows - 1, y + radius); j++) {
+            for (int i = Math.max(0, x - radius); i <= Math.min(cols - 1, x + radius); i++) {
+                total += counts[j * cols + i];
+            }
+        }
+        return total;
+    }
+
+    private void link(int id, int cell) {
+        cellOf[id] = cell;
+        if (cell < 0) {
+            return;
+        }
+        prev[id] = -1;
+        next[id] = head[cell];
+        if (head[cell] >= 0) {
+            prev[head[cell]] = id;
+        }
+        head[cell] = id;
+        counts[cell]++;
+    }
+
+    private void unlink(int id) {
+        int cell = cellOf[id];
+        if (cell < 0) {
+            return;
+        }
+        if (prev[id] >= 0) {
+            next[prev[id]] = next[id];
+        } else {
+            head[cell] = next[id];
+        }
+        if (next[id] >= 0) {
+            prev[next[id]] = prev[id];
+        }
+        counts[cell]--;
+        cellOf[id] = -1;
+    }
+
+    // Cells outside the maze aren't tracked
+    private int cellIndex(int x, int y) {
+        if (x < 0 || x >= cols || y < 0 || y >= rows) {
+            return -1;
+        }
+        return y * cols + x;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+import java.awt.Color;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// View of the game state published by the simulation after each tick.
+// It holds everything the renderer draws, so the EDT never reads the live world.
+// Snapshots and their arrays are recycled rather than allocated every tick: readers
+// pin a snapshot while they look at it, and GameWorld only rewrites unpinned ones.
+class WorldSnapshot {
+    long timeNanos;
+    int epoch; // Resets of the world so far; positions jump between epochs
+    Maze maze;
+    int playerX, playerY;
+    int prevPlayerX, prevPlayerY;
+    Color playerColor;
+    EnemySpriteCache sprites; // Atlases of the level's enemy looks
+    // Per enemy, valid up to getEnemyCount(); the arrays may be longer
+    int[] enemyLook = new int[0]; // Index of each enemy's look in sprites
+    int[] enemyX = new int[0], enemyY = new int[0];
+    int[] prevEnemyX = new int[0], prevEnemyY = new int[0];
+    double[] enemyAnimation = new double[0];
+    int timeRemaining;
+    boolean gameOver;
+    boolean levelComplete;
+
+    private int enemyCount;
+    private boolean continuous; // Whether prev positions came from the previous tick
+    private final AtomicInteger pins = new AtomicInteger(-1); // Readers holding it, or -1 while being written
+
+    // Reader side: false if the snapshot is being rewritten, in which case read the latest again
+    public boolean pin() {
+        int count;
+        do {
+            count = pins.get();
+            if (count < 0) {
+                return false;
+            }
+        } while (!pins.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    public void unpin() {
+        pins.decrementAndGet();
+    }
+
+    // Writer side: takes the snapshot for rewriting if no reader holds it
+    boolean claim() {
+        return pins.compareAndSet(0, -1);
+    }
+
+    // Starts rewriting a claimed snapshot for the current tick; the caller then fills the
+    // enemy arrays up to count and calls publish()
+    void begin(WorldSnapshot previous, int epoch, Maze maze, Player player, EnemySpriteCache sprites, int count,
+               int timeRemaining, boolean gameOver, boolean levelComplete) {
+        this.timeNanos = System.nanoTime();
+        this.epoch = epoch;
+        this.maze = maze;
+        this.playerX = player.getX();
+        this.playerY = player.getY();
+        this.playerColor = player.getColor();
+        this.sprites = sprites;
+        this.timeRemaining = timeRemaining;
+        this.gameOver = gameOver;
+        this.levelComplete = levelComplete;
+        this.enemyCount = count;
+        if (enemyX.length < count) {
+            enemyLook = new int[count];
+            enemyX = new int[count];
+            enemyY = new int[count];
+            prevEnemyX = new int[count];
+            prevEnemyY = new int[count];
+            enemyAnimation = new double[count];
+        }
+
+        // Interpolate from the previous tick only if it showed the same world since its last reset.
+        // Its positions are copied, so this snapshot never depends on another one staying put.
+        continuous = previous != null && previous.epoch == epoch && previous.maze == maze
+                && previous.enemyCount == count;
+        this.prevPlayerX = continuous ? previous.playerX : playerX;
+        this.prevPlayerY = continuous ? previous.playerY : playerY;
+        if (continuous) {
+            System.arraycopy(previous.enemyX, 0, prevEnemyX, 0, count);
+            System.arraycopy(previous.enemyY, 0, prevEnemyY, 0, count);
+        }
+    }
+
+    // Makes the rewritten snapshot readable; without a previous tick, enemies start where they are
+    void publish() {
+        if (!continuous) {
+            System.arraycopy(enemyX, 0, prevEnemyX, 0, enemyCount);
+            System.arraycopy(enemyY, 0, prevEnemyY, 0, enemyCount);
+        }
+        pins.set(0);
+    }
+
+    public int getEnemyCount() {
+        return enemyCount;
+    }
+}
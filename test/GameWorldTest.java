@@ -0,0 +1,63 @@
+import org.junit.jupiter.api.Test;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameWorldTest {
+    private final LevelManager levels = new LevelManager();
+
+    @Test
+    void enemiesOnlySpawnWhereTheStartReaches() {
+        // Two open rooms split by a wall column; only the left one holds the start
+        int rows = 15, cols = 30, split = 15;
+        long[] words = new long[(rows * cols + 63) / 64];
+        Arrays.fill(words, -1L);
+        for (int y = 1; y < rows - 1; y++) {
+            for (int x = 1; x < cols - 1; x++) {
+                if (x != split) {
+                    int cell = y * cols + x;
+                    words[cell >>> 6] &= ~(1L << cell);
+                }
+            }
+        }
+        Maze maze = new Maze(rows, cols, LongBuffer.wrap(words), 1, 1, split - 1, rows - 2, new int[0]);
+        GameWorld world = new GameWorld(levels.getLevelByNumber(10), maze);
+
+        assertTrue(world.getEnemyCount() > 0);
+        for (Enemy enemy : world.getEnemies()) {
+            assertTrue(enemy.getX() < split, "enemy at " + enemy.getX() + ", " + enemy.getY());
+        }
+    }
+
+    @Test
+    void parallelUpdatesMatchSequentialOnes() {
+        assertSameRun(116); // 64 enemies, the smallest count updated in parallel
+        assertSameRun(3000); // An array-based swarm
+    }
+
+    // Plays the same inputs with and without parallel updates and compares every tick
+    private void assertSameRun(int levelNumber) {
+        Level level = levels.getLevelByNumber(levelNumber);
+        GameWorld parallel = new GameWorld(level);
+        GameWorld sequential = new GameWorld(level);
+        sequential.setParallelUpdates(false);
+        Random inputs = new Random(levelNumber);
+
+        for (int tick = 0; tick < 600; tick++) {
+            if (sequential.isFinished()) { // Caught: start over so enemies keep moving
+                parallel.applyInput(GameWorld.RESTART);
+                sequential.applyInput(GameWorld.RESTART);
+            } else if (tick % 8 == 0) {
+                int input = inputs.nextInt(4);
+                parallel.applyInput(input);
+                sequential.applyInput(input);
+            }
+            parallel.step();
+            sequential.step();
+            assertEquals(sequential.stateHash(), parallel.stateHash(), "level " + levelNumber + ", tick " + tick);
+        }
+    }
+}
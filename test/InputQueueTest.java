@@ -0,0 +1,71 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputQueueTest {
+    @Test
+    void capacityRoundsUpToAPowerOfTwo() {
+        assertEquals(2, new InputQueue(1).capacity());
+        assertEquals(4, new InputQueue(3).capacity());
+        assertEquals(64, new InputQueue(64).capacity());
+        assertEquals(128, new InputQueue(65).capacity());
+    }
+
+    @Test
+    void pollsInOfferOrderAcrossTheWrap() {
+        InputQueue queue = new InputQueue(4);
+        assertEquals(InputQueue.EMPTY, queue.poll());
+        int next = 0;
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(queue.offer(round * 3 + i));
+            }
+            for (int i = 0; i < 3; i++) {
+                assertEquals(next++, queue.poll());
+            }
+            assertEquals(InputQueue.EMPTY, queue.poll());
+        }
+    }
+
+    @Test
+    void dropsEventsWhenFull() {
+        InputQueue queue = new InputQueue(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+
+        assertEquals(0, queue.poll());
+        assertTrue(queue.offer(5));
+        for (int expected : new int[] {1, 2, 3, 5}) {
+            assertEquals(expected, queue.poll());
+        }
+    }
+
+    @Test
+    void deliversEveryEventInOrderBetweenTwoThreads() throws InterruptedException {
+        InputQueue queue = new InputQueue(8);
+        int events = 200_000;
+        // Both sides yield instead of spinning, so this also finishes quickly on a single core
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < events; i++) {
+                while (!queue.offer(i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+
+        int expected = 0;
+        while (expected < events) {
+            int event = queue.poll();
+            if (event == InputQueue.EMPTY) {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(expected++, event);
+        }
+        producer.join();
+        assertEquals(InputQueue.EMPTY, queue.poll());
+    }
+}
@@ -0,0 +1,54 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram("empty");
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram("small");
+        for (int nanos = 0; nanos < 32; nanos++) {
+            histogram.record(nanos);
+        }
+        assertEquals(32, histogram.getCount());
+        assertEquals(15, histogram.getPercentile(50));
+        assertEquals(31, histogram.getPercentile(100));
+        assertEquals(0, histogram.getPercentile(0));
+    }
+
+    @Test
+    void percentilesStayWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram("uniform");
+        for (int micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1000L);
+        }
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            double exact = percentile * 100 * 1000;
+            double reported = histogram.getPercentile(percentile);
+            assertEquals(exact, reported, exact * 0.04, "p" + percentile);
+            assertTrue(reported >= exact, "p" + percentile + " is an upper bound");
+        }
+        assertEquals(10_000_000L, histogram.getPercentile(100));
+        assertEquals(10_000_000L, histogram.getMax());
+    }
+
+    @Test
+    void negativeDurationsCountAsZeroAndResetClears() {
+        LatencyHistogram histogram = new LatencyHistogram("reset");
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+
+        histogram.record(1_000_000);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+}
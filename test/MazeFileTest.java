@@ -0,0 +1,99 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MazeFileTest {
+    @TempDir
+    Path dir;
+
+    private static Maze generated(int rows, int cols) {
+        Maze maze = new Maze(rows, cols);
+        maze.setSeed(1000L);
+        maze.setPathDensity(50);
+        maze.generate();
+        return maze;
+    }
+
+    @Test
+    void roundTripKeepsCellsStartExitAndSpawns() throws IOException {
+        Maze generated = generated(37, 53);
+        int[] open = generated.getReachableCells();
+        int[] spawns = {open[open.length / 3], open[open.length / 2], open[open.length - 1]};
+        Maze maze = new Maze(37, 53, generated.getCellWords(), generated.getStartX(), generated.getStartY(),
+                generated.getExitX(), generated.getExitY(), spawns);
+
+        Path file = dir.resolve("round-trip.maze");
+        MazeFile.write(maze, file);
+        Maze loaded = MazeFile.load(file);
+
+        assertEquals(maze.getRows(), loaded.getRows());
+        assertEquals(maze.getCols(), loaded.getCols());
+        assertEquals(maze.getStartX(), loaded.getStartX());
+        assertEquals(maze.getStartY(), loaded.getStartY());
+        assertEquals(maze.getExitX(), loaded.getExitX());
+        assertEquals(maze.getExitY(), loaded.getExitY());
+        assertArrayEquals(spawns, loaded.getSpawnPoints());
+        for (int y = 0; y < maze.getRows(); y++) {
+            for (int x = 0; x < maze.getCols(); x++) {
+                assertEquals(maze.isWall(x, y), loaded.isWall(x, y), "cell " + x + ", " + y);
+            }
+        }
+    }
+
+    @Test
+    void loadedMazeCanBeRegenerated() throws IOException {
+        Path file = dir.resolve("regenerate.maze");
+        MazeFile.write(generated(21, 21), file);
+        Maze loaded = MazeFile.load(file);
+
+        loaded.generate();
+        assertFalse(loaded.isWall(loaded.getStartX(), loaded.getStartY()));
+        assertFalse(loaded.isWall(loaded.getExitX(), loaded.getExitY()));
+    }
+
+    @Test
+    void rejectsStartInsideAWall() throws IOException {
+        Path file = dir.resolve("walled-start.maze");
+        MazeFile.write(generated(21, 21), file);
+        putInt(file, 16, 0); // Start x on the outer wall
+        putInt(file, 20, 0); // Start y
+
+        IOException e = assertThrows(IOException.class, () -> MazeFile.load(file));
+        assertTrue(e.getMessage().contains("wall"), e.getMessage());
+    }
+
+    @Test
+    void rejectsSpawnInsideAWall() throws IOException {
+        Maze generated = generated(21, 21);
+        Maze maze = new Maze(21, 21, generated.getCellWords(), generated.getStartX(), generated.getStartY(),
+                generated.getExitX(), generated.getExitY(), new int[]{0}); // Top-left corner is always wall
+        Path file = dir.resolve("walled-spawn.maze");
+        MazeFile.write(maze, file);
+
+        assertThrows(IOException.class, () -> MazeFile.load(file));
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path file = dir.resolve("not-a-maze.maze");
+        MazeFile.write(generated(21, 21), file);
+        putInt(file, 0, 0x12345678);
+
+        assertThrows(IOException.class, () -> MazeFile.load(file));
+    }
+
+    private static void putInt(Path file, long offset, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(value).flip();
+            channel.write(bytes, offset);
+        }
+    }
+}
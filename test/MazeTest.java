@@ -0,0 +1,75 @@
+import org.junit.jupiter.api.Test;
+
+import java.nio.LongBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MazeTest {
+    private static Maze generated(int rows, int cols, int density, long seed) {
+        Maze maze = new Maze(rows, cols);
+        maze.setSeed(seed);
+        maze.setPathDensity(density);
+        maze.generate();
+        return maze;
+    }
+
+    private static int openCells(Maze maze) {
+        int count = 0;
+        for (int y = 0; y < maze.getRows(); y++) {
+            for (int x = 0; x < maze.getCols(); x++) {
+                if (!maze.isWall(x, y)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void everyOpenCellIsReachableAcrossTiles() {
+        for (int density : new int[] {0, 30, 50, 90}) {
+            Maze maze = generated(600, 700, density, 16L + density); // Several tiles, joined sequentially
+            assertEquals(1, maze.getComponentCount(), "density " + density);
+            assertEquals(openCells(maze), maze.getReachableCells().length, "density " + density);
+            assertTrue(maze.isReachable(maze.getExitX(), maze.getExitY()), "density " + density);
+        }
+    }
+
+    @Test
+    void parallelJoinIsConnectedAndRepeatable() {
+        Maze first = generated(1100, 1000, 50, 7L); // Above the parallel threshold
+        Maze second = generated(1100, 1000, 50, 7L);
+
+        assertEquals(1, first.getComponentCount());
+        assertEquals(openCells(first), first.getReachableCells().length);
+        assertEquals(first.getCellWords(), second.getCellWords());
+        assertEquals(first.getCarvedCells(), second.getCarvedCells());
+    }
+
+    @Test
+    void outerBorderStaysWalled() {
+        Maze maze = generated(300, 520, 90, 3L);
+        for (int x = 0; x < maze.getCols(); x++) {
+            assertTrue(maze.isWall(x, 0) && maze.isWall(x, maze.getRows() - 1), "column " + x);
+        }
+        for (int y = 0; y < maze.getRows(); y++) {
+            assertTrue(maze.isWall(0, y) && maze.isWall(maze.getCols() - 1, y), "row " + y);
+        }
+    }
+
+    @Test
+    void pocketsOfALoadedMazeAreCountedButNotReachable() {
+        // 7 x 7: a corridor from the start at (1, 1) to the exit at (3, 1), and a pocket at (5, 4)-(5, 5)
+        long walls = -1L;
+        for (int cell : new int[] {1 * 7 + 1, 1 * 7 + 2, 1 * 7 + 3, 4 * 7 + 5, 5 * 7 + 5}) {
+            walls &= ~(1L << cell);
+        }
+        Maze maze = new Maze(7, 7, LongBuffer.wrap(new long[] {walls}), 1, 1, 3, 1, new int[0]);
+
+        assertEquals(2, maze.getComponentCount());
+        assertArrayEquals(new int[] {8, 9, 10}, maze.getReachableCells());
+        assertTrue(maze.isReachable(3, 1));
+        assertFalse(maze.isReachable(5, 5));
+        assertFalse(maze.isReachable(-1, 1));
+    }
+}
@@ -0,0 +1,70 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayTest {
+    @TempDir
+    Path dir;
+
+    private final LevelManager levels = new LevelManager();
+
+    // A session of seeded random moves, restarting whenever the player is caught
+    private static GameWorld record(Level level, Replay replay, int steps) {
+        GameWorld world = new GameWorld(level);
+        world.setRecorder(replay);
+        Random inputs = new Random(22);
+        for (int step = 0; step < steps; step++) {
+            if (world.isGameOver()) {
+                world.applyInput(GameWorld.RESTART);
+            } else if (inputs.nextInt(3) == 0) {
+                world.applyInput(inputs.nextInt(4));
+            }
+            world.step();
+        }
+        return world;
+    }
+
+    @Test
+    void roundTripReproducesTheSession() throws IOException {
+        Level level = levels.getLevelByNumber(5);
+        Replay replay = new Replay(level.getNumber());
+        GameWorld world = record(level, replay, 1500);
+        Path file = dir.resolve("session.mzr");
+        replay.write(file, world.stateHash());
+
+        Replay loaded = Replay.read(file);
+        assertEquals(level.getNumber(), loaded.getLevelNumber());
+        assertEquals(replay.getStepCount(), loaded.getStepCount());
+        assertEquals(replay.getEventCount(), loaded.getEventCount());
+        assertEquals(world.stateHash(), loaded.getFinalHash());
+        assertEquals(loaded.getFinalHash(), loaded.play(level).stateHash());
+    }
+
+    @Test
+    void playbackOfADifferentLevelDoesNotMatch() throws IOException {
+        Level level = levels.getLevelByNumber(5);
+        Replay replay = new Replay(level.getNumber());
+        GameWorld world = record(level, replay, 300);
+        Path file = dir.resolve("session.mzr");
+        replay.write(file, world.stateHash());
+
+        assertNotEquals(world.stateHash(), Replay.read(file).play(levels.getLevelByNumber(6)).stateHash());
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path file = dir.resolve("not-a-replay.mzr");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        }
+
+        assertThrows(IOException.class, () -> Replay.read(file));
+    }
+}